@@ -1,6 +1,7 @@
 package org.ratha.virtualbookstore.DTO.response;
 
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.Hidden;
 import io.swagger.v3.oas.annotations.media.Schema;
 
@@ -9,6 +10,9 @@ public class ApiResponse<T> {
     private int status;
     private String message;
     private T data;
+    // Opaque cursor for the next page of a listing; omitted when there is none
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String next;
 
     public ApiResponse() {}
 
@@ -18,6 +22,11 @@ public class ApiResponse<T> {
         this.data = data;
     }
 
+    public ApiResponse(int status, String message, T data, String next) {
+        this(status, message, data);
+        this.next = next;
+    }
+
     public int getStatus() {
         return status;
     }
@@ -41,4 +50,12 @@ public class ApiResponse<T> {
     public void setData(T data) {
         this.data = data;
     }
+
+    public String getNext() {
+        return next;
+    }
+
+    public void setNext(String next) {
+        this.next = next;
+    }
 }
@@ -9,6 +9,8 @@ public class AuthResponse {
     private String token;
     private String username;
     private String role;
+    private String refreshToken;
+    private long expiresIn;
 
     public AuthResponse(String token, String username, String role) {
         this.token = token;
@@ -16,6 +18,12 @@ public class AuthResponse {
         this.role = role;
     }
 
+    public AuthResponse(String token, String username, String role, String refreshToken, long expiresIn) {
+        this(token, username, role);
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
+    }
+
     // Getters and setters (or use Lombok @Data for brevity)
 
     public String getToken() {
@@ -41,4 +49,21 @@ public class AuthResponse {
     public void setRole(String role) {
         this.role = role;
     }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    // Access token lifetime in seconds
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+
+    public void setExpiresIn(long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
 }
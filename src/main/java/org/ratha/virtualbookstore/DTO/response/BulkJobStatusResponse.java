@@ -0,0 +1,40 @@
+package org.ratha.virtualbookstore.DTO.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@Schema(hidden = true)
+public class BulkJobStatusResponse {
+    private String id;
+    // QUEUED, RUNNING, COMPLETED or FAILED (payload could not be read to the end)
+    private String status;
+    private long received;
+    private long processed;
+    private long succeeded;
+    private long failed;
+    private String error;
+    private List<ItemError> errors;
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+
+    @Getter
+    @Setter
+    public static class ItemError {
+        // Zero-based position of the article in the submitted payload
+        private long index;
+        private String title;
+        private String message;
+
+        public ItemError(long index, String title, String message) {
+            this.index = index;
+            this.title = title;
+            this.message = message;
+        }
+    }
+}
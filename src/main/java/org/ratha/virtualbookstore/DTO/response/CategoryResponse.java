@@ -1,15 +1,27 @@
 package org.ratha.virtualbookstore.DTO.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.Instant;
+
 @Getter
 @Setter
 @NoArgsConstructor
 public class CategoryResponse {
     private Long id;
     private String name;
+    // Only filled in when counts are requested
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long newsCount;
+    // Not serialized: the controller turns these into ETag / Last-Modified headers
+    @JsonIgnore
+    private Long version;
+    @JsonIgnore
+    private Instant lastModified;
 
 
     public CategoryResponse(Long id, String name) {
@@ -17,4 +29,10 @@ public class CategoryResponse {
         this.name = name;
     }
 
+    public CategoryResponse(Long id, String name, Long newsCount) {
+        this.id = id;
+        this.name = name;
+        this.newsCount = newsCount;
+    }
+
 }
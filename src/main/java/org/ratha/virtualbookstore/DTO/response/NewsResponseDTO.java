@@ -1,8 +1,10 @@
 package org.ratha.virtualbookstore.DTO.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.Hidden;
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Schema(hidden = true)
@@ -13,6 +15,10 @@ public class NewsResponseDTO {
     private Long categoryId;
     private String categoryName;
     private LocalDateTime publishedDate;
+    // Not serialized: the controller turns these into ETag / Last-Modified headers
+    private Long version;
+    private Long categoryVersion;
+    private Instant lastModified;
 
     // Getters and Setters
     public Long getId() {
@@ -62,4 +68,31 @@ public class NewsResponseDTO {
     public void setPublishedDate(LocalDateTime publishedDate) {
         this.publishedDate = publishedDate;
     }
+
+    @JsonIgnore
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    @JsonIgnore
+    public Long getCategoryVersion() {
+        return categoryVersion;
+    }
+
+    public void setCategoryVersion(Long categoryVersion) {
+        this.categoryVersion = categoryVersion;
+    }
+
+    @JsonIgnore
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
 }
@@ -0,0 +1,50 @@
+package org.ratha.virtualbookstore.DTO.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+// List view of an article: built directly by the query, never from a managed entity or the full content
+@Schema(hidden = true)
+public class NewsSummaryDTO {
+    private Long id;
+    private String title;
+    private String excerpt;
+    private LocalDateTime publishedDate;
+    private Long categoryId;
+    private String categoryName;
+
+    public NewsSummaryDTO(Long id, String title, String excerpt, LocalDateTime publishedDate,
+                          Long categoryId, String categoryName) {
+        this.id = id;
+        this.title = title;
+        this.excerpt = excerpt;
+        this.publishedDate = publishedDate;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getExcerpt() {
+        return excerpt;
+    }
+
+    public LocalDateTime getPublishedDate() {
+        return publishedDate;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+}
@@ -0,0 +1,22 @@
+package org.ratha.virtualbookstore.DTO.response;
+
+import java.util.List;
+
+// One page of results plus the opaque cursor for the next page (null on the last page)
+public class PageResult<T> {
+    private final List<T> items;
+    private final String next;
+
+    public PageResult(List<T> items, String next) {
+        this.items = items;
+        this.next = next;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNext() {
+        return next;
+    }
+}
@@ -0,0 +1,32 @@
+package org.ratha.virtualbookstore.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Local subscriber bookkeeping shared by the bus implementations
+abstract class AbstractCacheInvalidationBus implements CacheInvalidationBus {
+
+    private final Map<String, List<Subscription>> subscriptions = new ConcurrentHashMap<>();
+
+    @Override
+    public void subscribe(String topic, Consumer<String> onInvalidate, Runnable onReset) {
+        subscriptions.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>())
+                .add(new Subscription(onInvalidate, onReset));
+    }
+
+    protected void deliver(String topic, String key) {
+        for (Subscription subscription : subscriptions.getOrDefault(topic, List.of())) {
+            subscription.onInvalidate().accept(key);
+        }
+    }
+
+    protected void resetAll() {
+        subscriptions.values().forEach(list -> list.forEach(subscription -> subscription.onReset().run()));
+    }
+
+    private record Subscription(Consumer<String> onInvalidate, Runnable onReset) {
+    }
+}
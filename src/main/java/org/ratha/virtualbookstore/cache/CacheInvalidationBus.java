@@ -0,0 +1,19 @@
+package org.ratha.virtualbookstore.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts cache invalidations to every node running this application, this one included.
+ * Publishing inside a transaction delivers only once it commits; nothing is delivered on rollback.
+ */
+public interface CacheInvalidationBus {
+
+    void publish(String topic, String key);
+
+    /**
+     * @param onInvalidate called with each key published on the topic
+     * @param onReset called when invalidations may have been missed (e.g. after a lost connection),
+     *                so everything cached for the topic should be dropped
+     */
+    void subscribe(String topic, Consumer<String> onInvalidate, Runnable onReset);
+}
@@ -0,0 +1,15 @@
+package org.ratha.virtualbookstore.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Single-node bus: delivers to this JVM only. Meant for tests and local development
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.bus", havingValue = "loopback")
+public class LoopbackCacheInvalidationBus extends AbstractCacheInvalidationBus {
+
+    @Override
+    public void publish(String topic, String key) {
+        AfterCommit.run(() -> deliver(topic, key));
+    }
+}
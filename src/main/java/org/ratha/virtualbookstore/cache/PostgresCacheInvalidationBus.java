@@ -0,0 +1,125 @@
+package org.ratha.virtualbookstore.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+/**
+ * Cross-node bus on PostgreSQL {@code LISTEN/NOTIFY}.
+ * <p>
+ * {@code pg_notify} runs on the writer's own connection, so PostgreSQL sends the notification only
+ * when the write commits. This node delivers its own invalidations directly after commit and skips
+ * them when they come back. One pooled connection stays checked out for the listener. If that
+ * connection drops, notifications sent in the meantime are lost, so every subscriber is reset
+ * after reconnecting.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.bus", havingValue = "postgres", matchIfMissing = true)
+public class PostgresCacheInvalidationBus extends AbstractCacheInvalidationBus {
+
+    private static final String CHANNEL = "cache_invalidation";
+    private static final String SEPARATOR = "|";
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresCacheInvalidationBus.class);
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final int pollTimeoutMs;
+    private final long reconnectDelayMs;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile boolean running;
+    private Thread listener;
+
+    public PostgresCacheInvalidationBus(DataSource dataSource,
+                                        JdbcTemplate jdbcTemplate,
+                                        @Value("${cache.invalidation.poll-timeout-ms:1000}") int pollTimeoutMs,
+                                        @Value("${cache.invalidation.reconnect-delay-ms:5000}") long reconnectDelayMs) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.reconnectDelayMs = reconnectDelayMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        listener = new Thread(this::listen, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        listener.interrupt();
+    }
+
+    @Override
+    public void publish(String topic, String key) {
+        AfterCommit.run(() -> deliver(topic, key));
+        jdbcTemplate.queryForList("select pg_notify(?, ?)", CHANNEL, nodeId + SEPARATOR + topic + SEPARATOR + key);
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                resetAll();
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                // Anything but shutdown reconnects; the thread dying would silently stop invalidation
+                if (running) {
+                    log.warn("Cache invalidation listener failed, reconnecting in {} ms", reconnectDelayMs, e);
+                    sleepBeforeReconnect();
+                }
+            }
+        }
+    }
+
+    private void handle(String payload) {
+        String[] parts = payload.split("\\" + SEPARATOR, 3);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        try {
+            deliver(parts[1], parts[2]);
+        } catch (RuntimeException e) {
+            // A bad payload or a failing subscriber must not stop the listener
+            log.warn("Dropping cache invalidation for topic {}", parts[1], e);
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(reconnectDelayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -2,10 +2,15 @@ package org.ratha.virtualbookstore.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import org.ratha.virtualbookstore.DTO.request.AuthRequest;
+import org.ratha.virtualbookstore.DTO.request.RefreshRequest;
 import org.ratha.virtualbookstore.DTO.response.AuthResponse;
+import org.ratha.virtualbookstore.security.LoginOverloadedException;
+import org.ratha.virtualbookstore.security.LoginThrottledException;
 import org.ratha.virtualbookstore.service.AuthService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.annotation.*;
@@ -27,9 +32,10 @@ public class AuthController {
             description = "Authenticates a user and returns a JWT token",
             tags = {"Authentication"}
     )
-    public ResponseEntity<?> login(@RequestBody AuthRequest authRequest) {
+    public ResponseEntity<?> login(@RequestBody AuthRequest authRequest, HttpServletRequest request) {
         try {
-            AuthResponse authResponse = authService.login(authRequest);
+            // The client address: behind a trusted proxy Tomcat takes it from X-Forwarded-For (server.forward-headers-strategy)
+            AuthResponse authResponse = authService.login(authRequest, request.getRemoteAddr());
 
             Map<String, Object> response = new HashMap<>();
             response.put("status", "success");
@@ -39,6 +45,12 @@ public class AuthController {
 
         } catch (BadCredentialsException ex) {
             return ResponseEntity.status(401).body(Map.of("error", "Invalid username or password"));
+        } catch (LoginThrottledException ex) {
+            return ResponseEntity.status(429)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                    .body(Map.of("error", ex.getMessage()));
+        } catch (LoginOverloadedException ex) {
+            return ResponseEntity.status(503).header(HttpHeaders.RETRY_AFTER, "1").body(Map.of("error", ex.getMessage()));
         } catch (RuntimeException ex) {
             return ResponseEntity.status(404).body(Map.of("error", ex.getMessage()));
         } catch (Exception ex) {
@@ -46,14 +58,41 @@ public class AuthController {
         }
     }
 
+    @PostMapping("/refresh")
+    @Operation(
+            summary = "Refresh Token",
+            description = "Exchanges a refresh token for a new access token and a new refresh token",
+            tags = {"Authentication"}
+    )
+    public ResponseEntity<?> refresh(@RequestBody RefreshRequest refreshRequest) {
+        try {
+            AuthResponse authResponse = authService.refresh(refreshRequest.getRefreshToken());
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "success");
+            response.put("data", authResponse);
+
+            return ResponseEntity.ok(response);
+
+        } catch (BadCredentialsException ex) {
+            return ResponseEntity.status(401).body(Map.of("error", ex.getMessage()));
+        } catch (Exception ex) {
+            return ResponseEntity.status(500).body(Map.of("error", "Refresh failed: " + ex.getMessage()));
+        }
+    }
+
     @PostMapping("/logout")
     @Operation(
             summary = "User Logout",
-            description = "Logs out the current user and clears the security context",
+            description = "Revokes the bearer token and refresh token family and clears the security context",
             tags = {"Authentication"}
     )
-    public ResponseEntity<?> logout() {
-        authService.logout();
+    public ResponseEntity<?> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                    @RequestBody(required = false) RefreshRequest refreshRequest) {
+        String token = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring("Bearer ".length())
+                : null;
+        authService.logout(token, refreshRequest != null ? refreshRequest.getRefreshToken() : null);
         return ResponseEntity.ok(Map.of("status", "success", "message", "Logged out successfully"));
     }
 }
\ No newline at end of file
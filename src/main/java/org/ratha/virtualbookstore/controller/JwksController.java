@@ -0,0 +1,44 @@
+package org.ratha.virtualbookstore.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.ratha.virtualbookstore.security.JwtKeyRing;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+@Tag(name = "Authentication", description = "Endpoint for authentication operations")
+public class JwksController {
+
+    @Autowired
+    private JwtKeyRing keyRing;
+
+    @Value("${jwt.jwks.max-age-seconds:3600}")
+    private long maxAgeSeconds;
+
+    @GetMapping("/.well-known/jwks.json")
+    @Operation(
+            summary = "JSON Web Key Set",
+            description = "Public keys for verifying tokens issued by this service",
+            tags = {"Authentication"}
+    )
+    public ResponseEntity<Map<String, Object>> jwks(WebRequest request) {
+        Map<String, Object> jwkSet = keyRing.getJwkSet();
+        String etag = "\"" + Integer.toHexString(jwkSet.hashCode()) + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic())
+                .eTag(etag)
+                .body(jwkSet);
+    }
+}
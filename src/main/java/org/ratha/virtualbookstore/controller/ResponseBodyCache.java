@@ -0,0 +1,127 @@
+package org.ratha.virtualbookstore.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.ratha.virtualbookstore.cache.CacheInvalidationBus;
+import org.ratha.virtualbookstore.service.CategoryRegistry;
+import org.ratha.virtualbookstore.service.NewsCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Opt-in cache of fully serialized response bodies for hot read endpoints. Each resource keeps the
+ * UTF-8 JSON (and, if enabled, a gzip copy) of its current version; a request for the same version
+ * is answered with those bytes directly, without building DTOs or running Jackson. Entries are
+ * tagged with the version they were built from, so a lagging eviction can never serve stale bytes;
+ * write-path evictions arrive over the {@link CacheInvalidationBus} and only free the memory early.
+ */
+@Component
+public class ResponseBodyCache {
+
+    private static final String NEWS_PREFIX = "news-";
+    private static final String CATEGORIES = "categories";
+
+    private final boolean enabled;
+    private final boolean gzip;
+    private final int gzipMinSize;
+    private final int gzipLevel;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Body> cache;
+
+    public ResponseBodyCache(@Value("${response-cache.enabled:false}") boolean enabled,
+                             @Value("${response-cache.gzip:true}") boolean gzip,
+                             @Value("${response-cache.max-bytes:67108864}") long maxBytes,
+                             @Value("${response-compression.min-size:1024}") int gzipMinSize,
+                             @Value("${response-compression.level:6}") int gzipLevel,
+                             ObjectMapper objectMapper,
+                             CacheInvalidationBus invalidationBus,
+                             MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.gzip = gzip;
+        this.gzipMinSize = gzipMinSize;
+        this.gzipLevel = gzipLevel;
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String resource, Body body) -> body.weight())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "http.response-bodies");
+
+        invalidationBus.subscribe(NewsCache.TOPIC, id -> cache.invalidate(NEWS_PREFIX + id), cache::invalidateAll);
+        invalidationBus.subscribe(NewsCache.CATEGORY_TOPIC,
+                categoryId -> cache.asMap().keySet().removeIf(resource -> resource.startsWith(NEWS_PREFIX)),
+                cache::invalidateAll);
+        invalidationBus.subscribe(CategoryRegistry.TOPIC, key -> cache.invalidate(CATEGORIES), cache::invalidateAll);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public ResponseEntity<byte[]> news(Long id, String version, WebRequest request,
+                                       ResponseEntity.BodyBuilder response, Supplier<?> body) {
+        return respond(NEWS_PREFIX + id, version, request, response, body);
+    }
+
+    public ResponseEntity<byte[]> categories(String version, WebRequest request,
+                                             ResponseEntity.BodyBuilder response, Supplier<?> body) {
+        return respond(CATEGORIES, version, request, response, body);
+    }
+
+    private ResponseEntity<byte[]> respond(String resource, String version, WebRequest request,
+                                           ResponseEntity.BodyBuilder response, Supplier<?> body) {
+        Body cached = cache.getIfPresent(resource);
+        if (cached == null || !cached.version().equals(version)) {
+            cached = serialize(version, body.get());
+            cache.put(resource, cached);
+        }
+
+        response.contentType(MediaType.APPLICATION_JSON);
+        if (cached.gzip() == null) {
+            return response.contentLength(cached.json().length).body(cached.json());
+        }
+        response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        String coding = ResponseCompressionFilter.negotiate(
+                request.getHeader(HttpHeaders.ACCEPT_ENCODING), List.of(ResponseCompressionFilter.GZIP));
+        if (coding == null) {
+            return response.contentLength(cached.json().length).body(cached.json());
+        }
+        // Same weak validator the compression filter gives its output, so If-None-Match still matches
+        return response.header(HttpHeaders.CONTENT_ENCODING, coding)
+                .eTag("W/" + version)
+                .contentLength(cached.gzip().length)
+                .body(cached.gzip());
+    }
+
+    private Body serialize(String version, Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            // Small bodies stay uncompressed, matching the compression filter's threshold
+            byte[] compressed = gzip && json.length >= gzipMinSize
+                    ? ResponseCompressionFilter.compress(json, ResponseCompressionFilter.GZIP, gzipLevel)
+                    : null;
+            return new Body(version, json, compressed);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize response body", e);
+        }
+    }
+
+    private record Body(String version, byte[] json, byte[] gzip) {
+
+        int weight() {
+            return json.length + (gzip == null ? 0 : gzip.length);
+        }
+    }
+}
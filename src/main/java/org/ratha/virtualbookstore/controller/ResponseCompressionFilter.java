@@ -0,0 +1,204 @@
+package org.ratha.virtualbookstore.controller;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses {@code /api/**} responses with gzip or deflate, whichever the client prefers. Only
+ * bodies of a listed media type and at least {@code min-size} bytes are compressed; below that the
+ * framing overhead eats the savings. Responses that already carry a Content-Encoding, such as the
+ * pre-compressed variants served by {@link ResponseBodyCache}, pass through untouched.
+ * <p>
+ * The body is buffered to measure it, so streaming endpoints are listed in {@code excluded-paths}.
+ * A compressed response gets a weak ETag: the bytes differ from the identity encoding, but
+ * If-None-Match uses weak comparison, so revalidation still yields a 304.
+ */
+@Component
+@ConditionalOnProperty(name = "response-compression.enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+
+    static final String GZIP = "gzip";
+    static final String DEFLATE = "deflate";
+
+    private final int minSize;
+    private final int level;
+    private final List<MediaType> mimeTypes;
+    private final List<String> codings;
+    private final List<String> excludedPaths;
+
+    public ResponseCompressionFilter(@Value("${response-compression.min-size:1024}") int minSize,
+                                     @Value("${response-compression.level:6}") int level,
+                                     @Value("${response-compression.mime-types:application/json,text/plain}") List<String> mimeTypes,
+                                     @Value("${response-compression.codings:gzip,deflate}") List<String> codings,
+                                     @Value("${response-compression.excluded-paths:/api/news/export}") List<String> excludedPaths) {
+        this.minSize = minSize;
+        this.level = level;
+        this.mimeTypes = mimeTypes.stream().map(String::trim).map(MediaType::parseMediaType).toList();
+        this.codings = codings.stream().map(coding -> coding.trim().toLowerCase(Locale.ROOT)).toList();
+        this.excludedPaths = excludedPaths.stream().map(String::trim).toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith("/api/")
+                || "HEAD".equals(request.getMethod())
+                || excludedPaths.stream().anyMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, buffered);
+        } finally {
+            if (!request.isAsyncStarted()) {
+                complete(request, response, buffered);
+            }
+        }
+    }
+
+    private void complete(HttpServletRequest request, HttpServletResponse response,
+                          ContentCachingResponseWrapper buffered) throws IOException {
+        if (!isCompressible(buffered)) {
+            buffered.copyBodyToResponse();
+            return;
+        }
+        // The representation depends on Accept-Encoding from here on, even for identity responses
+        if (!varies(response)) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        String coding = negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING), codings);
+        if (coding == null) {
+            buffered.copyBodyToResponse();
+            return;
+        }
+
+        byte[] compressed = compress(buffered.getContentAsByteArray(), coding, level);
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, coding);
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        if (etag != null && !etag.startsWith("W/")) {
+            response.setHeader(HttpHeaders.ETAG, "W/" + etag);
+        }
+        response.setContentLength(compressed.length);
+        response.getOutputStream().write(compressed);
+    }
+
+    private boolean isCompressible(ContentCachingResponseWrapper buffered) {
+        int status = buffered.getStatus();
+        if (status < 200 || status == HttpServletResponse.SC_NO_CONTENT || status == HttpServletResponse.SC_PARTIAL_CONTENT
+                || buffered.getContentSize() < minSize
+                || buffered.getHeader(HttpHeaders.CONTENT_ENCODING) != null
+                || buffered.getContentType() == null) {
+            return false;
+        }
+        MediaType contentType = MediaType.parseMediaType(buffered.getContentType());
+        return mimeTypes.stream().anyMatch(type -> type.includes(contentType));
+    }
+
+    private static boolean varies(HttpServletResponse response) {
+        return response.getHeaders(HttpHeaders.VARY).stream()
+                .flatMap(value -> List.of(value.split(",")).stream())
+                .anyMatch(value -> value.trim().equalsIgnoreCase(HttpHeaders.ACCEPT_ENCODING)
+                        || value.trim().equals("*"));
+    }
+
+    // Highest-q coding the client accepts among `supported`; earlier entries win ties. Null means identity
+    static String negotiate(String acceptEncoding, List<String> supported) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return null;
+        }
+        String best = null;
+        double bestQuality = 0;
+        for (String coding : supported) {
+            double quality = qualityOf(acceptEncoding, coding);
+            if (quality > bestQuality) {
+                best = coding;
+                bestQuality = quality;
+            }
+        }
+        return best;
+    }
+
+    // q value of `coding` in the header, falling back to "*"; 0 when not listed
+    private static double qualityOf(String acceptEncoding, String coding) {
+        double wildcard = 0;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.trim().split(";");
+            String name = parts[0].trim();
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim().replace(" ", "");
+                if (parameter.startsWith("q=")) {
+                    quality = parseQuality(parameter.substring(2));
+                }
+            }
+            if (name.equalsIgnoreCase(coding)) {
+                return quality;
+            }
+            if (name.equals("*")) {
+                wildcard = quality;
+            }
+        }
+        return wildcard;
+    }
+
+    private static double parseQuality(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    static byte[] compress(byte[] body, String coding, int level) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+        try {
+            if (GZIP.equals(coding)) {
+                try (GZIPOutputStream output = new LeveledGzipOutputStream(compressed, level)) {
+                    output.write(body);
+                }
+            } else {
+                Deflater deflater = new Deflater(level);
+                try (DeflaterOutputStream output = new DeflaterOutputStream(compressed, deflater)) {
+                    output.write(body);
+                } finally {
+                    deflater.end();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    // GZIPOutputStream has no level parameter, but its deflater is reachable from a subclass
+    private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+
+        LeveledGzipOutputStream(ByteArrayOutputStream output, int level) throws IOException {
+            super(output);
+            def.setLevel(level);
+        }
+    }
+}
@@ -5,13 +5,20 @@ import jakarta.validation.Valid;
 import org.ratha.virtualbookstore.DTO.request.CategoryRequest;
 import org.ratha.virtualbookstore.DTO.response.ApiResponse;
 import org.ratha.virtualbookstore.DTO.response.CategoryResponse;
+import org.ratha.virtualbookstore.DTO.response.NewsSummaryDTO;
+import org.ratha.virtualbookstore.DTO.response.PageResult;
+import org.ratha.virtualbookstore.controller.ResponseBodyCache;
 import org.ratha.virtualbookstore.service.CategoryService;
 import org.ratha.virtualbookstore.service.CategoryService.CategoryServiceException;
+import org.ratha.virtualbookstore.service.NewsService;
+import org.ratha.virtualbookstore.service.NewsService.NewsServiceException;
 import org.ratha.virtualbookstore.service.impl.CategoryServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -22,17 +29,49 @@ import java.util.List;
 @Tag(name = "Categories", description = "Endpoint for category operations")
 public class CategoryController {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private CategoryService categoryService;
     @Autowired
     private CategoryServiceImpl categoryServiceImpl;
+    @Autowired
+    private NewsService newsService;
+    @Autowired
+    private ResponseBodyCache responseBodyCache;
 
+    // Without parameters returns every category; `page`, `size` or `withCounts` switch to an alphabetical page
     @GetMapping
-    public ResponseEntity<ApiResponse<List<CategoryResponse>>> getAllCategories() {
+    public ResponseEntity<?> getAllCategories(
+            @RequestParam(defaultValue = "false") boolean withCounts,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        boolean paged = withCounts || page != null || size != null;
+        int pageNumber = page == null ? 0 : page;
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+        if (paged && (pageSize < 1 || pageSize > MAX_PAGE_SIZE || pageNumber < 0)) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(400,
+                    "size must be between 1 and " + MAX_PAGE_SIZE + " and page must not be negative", null));
+        }
         try {
-            List<CategoryResponse> newList = categoryService.getCategories();
+            // Checked before the list is loaded; no Last-Modified because deletes do not move it
+            String etag = "\"categories-" + categoryService.getCategoriesVersion(withCounts) + "\"";
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+            // The full list is the hot one; its bytes can be reused until the registry version changes
+            if (!paged && responseBodyCache.isEnabled()) {
+                return responseBodyCache.categories(etag, request,
+                        ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag),
+                        () -> new ApiResponse<>(200, "Successfully retrieved categories", categoryService.getCategories()));
+            }
+            List<CategoryResponse> newList = paged
+                    ? categoryService.getCategoriesPage(pageNumber, pageSize, withCounts)
+                    : categoryService.getCategories();
             ApiResponse<List<CategoryResponse>> response = new ApiResponse<>(200, "Successfully retrieved categories", newList);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(response);
         } catch (CategoryServiceException e) {
             ApiResponse<List<CategoryResponse>> response = new ApiResponse<>(404, e.getMessage(), null);
             return ResponseEntity.status(404).body(response);
@@ -43,10 +82,19 @@ public class CategoryController {
     }
 
     @GetMapping("{id}")
-    public ResponseEntity<ApiResponse<CategoryResponse>> getCategory(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<CategoryResponse>> getCategory(@PathVariable Long id, WebRequest request) {
         try {
             CategoryResponse categoryResponse = categoryService.getCategoryById(id);
-            return ResponseEntity.ok(new ApiResponse<>(200, "Successfully retrieved category", categoryResponse));
+            String etag = "\"category-" + categoryResponse.getId() + "-" + categoryResponse.getVersion() + "\"";
+            long lastModified = categoryResponse.getLastModified() == null ? -1 : categoryResponse.getLastModified().toEpochMilli();
+            if (request.checkNotModified(etag, lastModified)) {
+                return null;
+            }
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag);
+            if (categoryResponse.getLastModified() != null) {
+                response.lastModified(categoryResponse.getLastModified());
+            }
+            return response.body(new ApiResponse<>(200, "Successfully retrieved category", categoryResponse));
         }catch (CategoryServiceException ex) {
              return  ResponseEntity.status(404).body(new ApiResponse<>(404, ex.getMessage(), null));
         }catch (Exception e) {
@@ -54,6 +102,29 @@ public class CategoryController {
         }
     }
 
+    // Newest articles of one category, following the `next` cursor like GET /api/news
+    @GetMapping("/{id}/news")
+    public ResponseEntity<ApiResponse<List<NewsSummaryDTO>>> getCategoryNews(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(400,
+                    "size must be between 1 and " + MAX_PAGE_SIZE, null));
+        }
+        try {
+            PageResult<NewsSummaryDTO> newsPage = newsService.getNewsInCategory(id, cursor, size);
+            return ResponseEntity.ok(new ApiResponse<>(200, "Successfully retrieved category news",
+                    newsPage.getItems(), newsPage.getNext()));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(400, ex.getMessage(), null));
+        } catch (NewsServiceException ex) {
+            return ResponseEntity.status(404).body(new ApiResponse<>(404, ex.getMessage(), null));
+        } catch (Exception ex) {
+            return ResponseEntity.status(500).body(new ApiResponse<>(500, "Internal server error", null));
+        }
+    }
+
     @PostMapping
     public ResponseEntity<ApiResponse<List<CategoryResponse>>> createMultiCategory(
             @RequestBody List<CategoryRequest> categoryRequests) {
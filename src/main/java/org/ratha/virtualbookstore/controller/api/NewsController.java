@@ -2,30 +2,80 @@ package org.ratha.virtualbookstore.controller.api;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.persistence.Table;
+import jakarta.servlet.http.HttpServletRequest;
 import org.ratha.virtualbookstore.DTO.request.NewsRequestDTO;
 import org.ratha.virtualbookstore.DTO.response.ApiResponse;
+import org.ratha.virtualbookstore.DTO.response.BulkJobStatusResponse;
 import org.ratha.virtualbookstore.DTO.response.NewsResponseDTO;
+import org.ratha.virtualbookstore.DTO.response.NewsSummaryDTO;
+import org.ratha.virtualbookstore.DTO.response.PageResult;
+import org.ratha.virtualbookstore.controller.ResponseBodyCache;
+import org.ratha.virtualbookstore.service.BulkNewsImportService;
+import org.ratha.virtualbookstore.service.BulkNewsImportService.PayloadTooLargeException;
+import org.ratha.virtualbookstore.service.NewsExportService;
 import org.ratha.virtualbookstore.service.NewsService;
 import org.ratha.virtualbookstore.service.NewsService.NewsServiceException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @Tag(name = "News", description = "Endpoint for news operations")
 @RequestMapping("/api/news")
 public class NewsController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private NewsService newsService;
 
+    @Autowired
+    private NewsExportService newsExportService;
+
+    @Autowired
+    private BulkNewsImportService bulkNewsImportService;
+
+    @Autowired
+    private ResponseBodyCache responseBodyCache;
+
+    // Lists summaries only; full content comes from GET /api/news/{id}.
+    // Pass `page` for offset paging; otherwise follow the `next` cursor from the previous response
     @GetMapping
-    public ResponseEntity<ApiResponse<List<NewsResponseDTO>>> getAllNews() {
+    public ResponseEntity<ApiResponse<List<NewsSummaryDTO>>> getAllNews(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
+            WebRequest request) {
+        if (size < 1 || size > MAX_PAGE_SIZE || (page != null && page < 0)) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(400,
+                    "size must be between 1 and " + MAX_PAGE_SIZE + " and page must not be negative", null));
+        }
         try {
-            List<NewsResponseDTO> newsList = newsService.getAllNews();
-            return ResponseEntity.ok(new ApiResponse<>(200, "Successfully retrieved news list", newsList));
+            // Validated before the page is loaded, so polling clients get a 304 for the cost of the version query.
+            // No Last-Modified here: a delete does not move the newest change time
+            String etag = "\"news-list-" + newsService.getListVersion() + "\"";
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+            PageResult<NewsSummaryDTO> newsPage = page != null
+                    ? newsService.getNewsPage(page, size)
+                    : newsService.getNewsAfter(cursor, size);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .eTag(etag)
+                    .body(new ApiResponse<>(200, "Successfully retrieved news list",
+                            newsPage.getItems(), newsPage.getNext()));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(400, ex.getMessage(), null));
         } catch (NewsServiceException ex) {
             return ResponseEntity.status(500).body(new ApiResponse<>(500, ex.getMessage(), null));
         } catch (Exception ex) {
@@ -33,11 +83,56 @@ public class NewsController {
         }
     }
 
+    // Ranked full-text search over title and content; each word also matches as a prefix
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<NewsSummaryDTO>>> searchNews(
+            @RequestParam String q,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE || page < 0) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(400,
+                    "size must be between 1 and " + MAX_PAGE_SIZE + " and page must not be negative", null));
+        }
+        try {
+            List<NewsSummaryDTO> results = newsService.searchNews(q, categoryId, page, size);
+            return ResponseEntity.ok(new ApiResponse<>(200, "Successfully searched news", results));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(400, ex.getMessage(), null));
+        } catch (NewsServiceException ex) {
+            return ResponseEntity.status(500).body(new ApiResponse<>(500, ex.getMessage(), null));
+        } catch (Exception ex) {
+            return ResponseEntity.status(500).body(new ApiResponse<>(500, "Internal server error", null));
+        }
+    }
+
+    // Bulk export for indexers and batch jobs: one JSON article per line, streamed with constant memory
+    @GetMapping(value = "/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportNews() {
+        StreamingResponseBody body = outputStream -> newsExportService.exportNdjson(outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<NewsResponseDTO>> getNewsById(@PathVariable Long id) {
+    public ResponseEntity<?> getNewsById(@PathVariable Long id, WebRequest request) {
         try {
             NewsResponseDTO news = newsService.getNewsById(id);
-            return ResponseEntity.ok(new ApiResponse<>(200, "Successfully retrieved news", news));
+            String etag = "\"news-" + news.getId() + "-" + news.getVersion() + "-" + news.getCategoryVersion() + "\"";
+            long lastModified = news.getLastModified() == null ? -1 : news.getLastModified().toEpochMilli();
+            if (request.checkNotModified(etag, lastModified)) {
+                return null;
+            }
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag);
+            if (news.getLastModified() != null) {
+                response.lastModified(news.getLastModified());
+            }
+            if (responseBodyCache.isEnabled()) {
+                return responseBodyCache.news(id, etag, request, response,
+                        () -> new ApiResponse<>(200, "Successfully retrieved news", news));
+            }
+            return response.body(new ApiResponse<>(200, "Successfully retrieved news", news));
         } catch (NewsServiceException ex) {
             return ResponseEntity.status(404).body(new ApiResponse<>(404, ex.getMessage(), null));
         } catch (Exception ex) {
@@ -57,6 +152,36 @@ public class NewsController {
         }
     }
 
+    // Large imports: accepts a JSON array or NDJSON, returns a job id at once and ingests in the background
+    @PostMapping(value = "/bulk-jobs", consumes = {MediaType.APPLICATION_JSON_VALUE, NDJSON})
+    public ResponseEntity<ApiResponse<BulkJobStatusResponse>> createBulkJob(HttpServletRequest request) {
+        try {
+            BulkJobStatusResponse job = bulkNewsImportService.submit(request.getInputStream(), request.getContentLengthLong());
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/news/bulk-jobs/" + job.getId()))
+                    .body(new ApiResponse<>(202, "Bulk import job accepted", job));
+        } catch (PayloadTooLargeException ex) {
+            return ResponseEntity.status(413).body(new ApiResponse<>(413, ex.getMessage(), null));
+        } catch (RejectedExecutionException ex) {
+            return ResponseEntity.status(503).header("Retry-After", "30")
+                    .body(new ApiResponse<>(503, "Too many bulk import jobs pending, try again later", null));
+        } catch (Exception ex) {
+            return ResponseEntity.status(500).body(new ApiResponse<>(500, "Internal server error", null));
+        }
+    }
+
+    @GetMapping("/bulk-jobs/{id}")
+    public ResponseEntity<ApiResponse<BulkJobStatusResponse>> getBulkJob(@PathVariable String id) {
+        try {
+            BulkJobStatusResponse job = bulkNewsImportService.getJob(id);
+            return ResponseEntity.ok(new ApiResponse<>(200, "Successfully retrieved bulk import job", job));
+        } catch (NewsServiceException ex) {
+            return ResponseEntity.status(404).body(new ApiResponse<>(404, ex.getMessage(), null));
+        } catch (Exception ex) {
+            return ResponseEntity.status(500).body(new ApiResponse<>(500, "Internal server error", null));
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<NewsResponseDTO>> updateNews(@PathVariable Long id, @RequestBody NewsRequestDTO newsDTO) {
         try {
@@ -3,22 +3,38 @@ package org.ratha.virtualbookstore.model;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.util.List;
 
 @Entity
 @Getter
 @Setter
 @Table(name = "category")
+@BatchSize(size = 50)
 public class Category {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String name;
 
+    // Never loaded by the API; kept for mapping only
     @OneToMany(mappedBy = "category")
+    @BatchSize(size = 50)
     private List<News> news;
+
+    // Version and change time of the row; category reads derive their ETag and Last-Modified from them
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
 }
@@ -0,0 +1,20 @@
+package org.ratha.virtualbookstore.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+// Maintained counter, so per-category totals never need a count(*) over news
+@Entity
+@Getter
+@Setter
+@Table(name = "category_news_count")
+public class CategoryNewsCount {
+
+    @Id
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(nullable = false)
+    private long newsCount;
+}
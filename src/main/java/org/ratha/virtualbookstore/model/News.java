@@ -3,28 +3,49 @@ package org.ratha.virtualbookstore.model;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Entity
 @Getter
 @Setter
+// Indexes, the search column and the lower(title) unique index live in the Flyway migrations
 @Table(name = "news")
 public class News {
 
+    // Pooled sequence ids let Hibernate batch inserts; IDENTITY forces one round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "news_seq")
+    @SequenceGenerator(name = "news_seq", sequenceName = "news_seq", allocationSize = 50)
     private Long id;
 
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String title;
 
     @Column(nullable = false, columnDefinition = "TEXT")
     private String content;
 
+    // Short plain prefix of the content, stored so list views never read the TEXT column
+    @Column(length = 300)
+    private String excerpt;
+
     @Column(nullable = false)
     private LocalDateTime publishedDate;
 
-    @ManyToOne(optional = true)
+    // Lazy so list queries never pull categories row by row; readers that need it fetch-join it
+    @ManyToOne(fetch = FetchType.LAZY, optional = true)
     @JoinColumn(name = "category_id", nullable = true)
     private Category category;
+
+    // Bumped on every change; together with updatedAt it backs the HTTP validators (ETag / Last-Modified)
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
 }
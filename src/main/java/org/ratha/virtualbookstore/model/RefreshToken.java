@@ -0,0 +1,34 @@
+package org.ratha.virtualbookstore.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Entity
+@Getter
+@Setter
+@Table(name = "refresh_token")
+public class RefreshToken {
+
+    // SHA-256 of the opaque token; the raw value is never stored
+    @Id
+    @Column(length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false)
+    private String username;
+
+    private String role;
+
+    // Every token produced by rotating the same login shares a family
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    @Column(nullable = false)
+    private boolean used;
+}
@@ -0,0 +1,33 @@
+package org.ratha.virtualbookstore.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Entity
+@Getter
+@Setter
+@Table(name = "signing_key")
+public class SigningKey {
+
+    @Id
+    @Column(length = 64)
+    private String kid;
+
+    @Column(nullable = false, length = 16)
+    private String algorithm;
+
+    // PKCS#8 encoded private key
+    @Column(nullable = false)
+    private byte[] privateKey;
+
+    // X.509 encoded public key
+    @Column(nullable = false)
+    private byte[] publicKey;
+
+    // Tokens are signed with the newest key whose activation time has passed
+    @Column(nullable = false)
+    private Instant activatesAt;
+}
@@ -3,17 +3,19 @@ package org.ratha.virtualbookstore.model;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.ratha.virtualbookstore.security.UserCacheInvalidationListener;
 
 @Entity
 @Getter
 @Setter
 @Table(name = "\"user\"")
+@EntityListeners(UserCacheInvalidationListener.class)
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String username;
 
     @Column(nullable = false)
@@ -0,0 +1,17 @@
+package org.ratha.virtualbookstore.repository;
+
+import org.ratha.virtualbookstore.model.CategoryNewsCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface CategoryNewsCountRepository extends JpaRepository<CategoryNewsCount, Long> {
+
+    // Upsert, so a category's first article needs no separate insert
+    @Modifying
+    @Query(value = "insert into category_news_count (category_id, news_count) values (:categoryId, :delta) " +
+            "on conflict (category_id) do update set news_count = category_news_count.news_count + excluded.news_count",
+            nativeQuery = true)
+    void adjust(@Param("categoryId") Long categoryId, @Param("delta") long delta);
+}
@@ -1,15 +1,26 @@
 package org.ratha.virtualbookstore.repository;
 
+import org.ratha.virtualbookstore.DTO.response.CategoryResponse;
 import org.ratha.virtualbookstore.model.Category;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
 
-public interface CategoryRepository extends JpaRepository<Category, Long> {
+public interface CategoryRepository extends JpaRepository<Category, Long>, CategoryRepositoryCustom {
     Optional<Category> findByName(String name);
 
     List<Category> findByNameIn(List<String> requestCategoryNames);
 
     boolean existsByName(String name);
+
+    // Alphabetical page of categories; the counts come from the maintained category_news_count table
+    @Query("select new org.ratha.virtualbookstore.DTO.response.CategoryResponse(c.id, c.name, coalesce(cnt.newsCount, 0L)) " +
+            "from Category c left join CategoryNewsCount cnt on cnt.categoryId = c.id order by c.name, c.id")
+    List<CategoryResponse> findPageWithCounts(Pageable pageable);
+
+    @Query("select new org.ratha.virtualbookstore.DTO.response.CategoryResponse(c.id, c.name) from Category c order by c.name, c.id")
+    List<CategoryResponse> findPage(Pageable pageable);
 }
@@ -0,0 +1,11 @@
+package org.ratha.virtualbookstore.repository;
+
+import org.ratha.virtualbookstore.model.Category;
+
+import java.util.List;
+
+public interface CategoryRepositoryCustom {
+
+    // Inserts the names that do not exist yet and returns only those rows; existing names are skipped
+    List<Category> insertMissing(List<String> names);
+}
@@ -0,0 +1,40 @@
+package org.ratha.virtualbookstore.repository;
+
+import org.ratha.virtualbookstore.model.Category;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+// One statement for any number of names; ON CONFLICT makes concurrent callers with overlapping names safe
+class CategoryRepositoryImpl implements CategoryRepositoryCustom {
+
+    private static final String INSERT_MISSING = "insert into category (name, version, updated_at) " +
+            "select name, 0, now() from unnest(?) as t(name) " +
+            "on conflict (name) do nothing " +
+            "returning id, name, version, updated_at";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Category> insertMissing(List<String> names) {
+        if (names.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_MISSING);
+            statement.setArray(1, connection.createArrayOf("varchar", names.toArray()));
+            return statement;
+        }, (resultSet, rowNum) -> {
+            Category category = new Category();
+            category.setId(resultSet.getLong("id"));
+            category.setName(resultSet.getString("name"));
+            category.setVersion(resultSet.getLong("version"));
+            category.setUpdatedAt(resultSet.getObject("updated_at", OffsetDateTime.class).toInstant());
+            return category;
+        });
+    }
+}
@@ -1,11 +1,98 @@
 package org.ratha.virtualbookstore.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.ratha.virtualbookstore.DTO.response.NewsSummaryDTO;
 import org.ratha.virtualbookstore.model.News;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface NewsRepository extends JpaRepository<News, Long> {
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-    boolean existsByTitleIgnoreCase(String lowerCase);
+public interface NewsRepository extends JpaRepository<News, Long> {
 
     boolean existsByCategoryId(Long id);
+
+    // Single article with its category in one select
+    @EntityGraph(attributePaths = "category")
+    Optional<News> findWithCategoryById(Long id);
+
+    String SUMMARY_SELECT = "select new org.ratha.virtualbookstore.DTO.response.NewsSummaryDTO(" +
+            "n.id, n.title, coalesce(n.excerpt, substring(n.content, 1, 200)), n.publishedDate, c.id, c.name) " +
+            "from News n left join n.category c ";
+
+    // Offset page of summaries, newest first; returned as a List so no count query runs
+    @Query(SUMMARY_SELECT + "order by n.publishedDate desc, n.id desc")
+    List<NewsSummaryDTO> findSummaries(Pageable pageable);
+
+    // First page of the keyset listing, newest first
+    @Query(SUMMARY_SELECT + "order by n.publishedDate desc, n.id desc")
+    List<NewsSummaryDTO> findFirstSummaryPage(Pageable pageable);
+
+    // Rows strictly after the cursor position, so every page is an index range scan
+    @Query(SUMMARY_SELECT + "where (n.publishedDate, n.id) < (:publishedDate, :id) " +
+            "order by n.publishedDate desc, n.id desc")
+    List<NewsSummaryDTO> findSummaryPageAfter(@Param("publishedDate") LocalDateTime publishedDate,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
+
+    // Newest articles of one category, served by idx_news_category_published
+    @Query(SUMMARY_SELECT + "where c.id = :categoryId order by n.publishedDate desc, n.id desc")
+    List<NewsSummaryDTO> findFirstSummaryPageInCategory(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "where c.id = :categoryId and (n.publishedDate, n.id) < (:publishedDate, :id) " +
+            "order by n.publishedDate desc, n.id desc")
+    List<NewsSummaryDTO> findSummaryPageInCategoryAfter(@Param("categoryId") Long categoryId,
+                                                        @Param("publishedDate") LocalDateTime publishedDate,
+                                                        @Param("id") Long id,
+                                                        Pageable pageable);
+
+    // 0 when the article has no category, empty when it does not exist
+    @Query("select coalesce(c.id, 0) from News n left join n.category c where n.id = :id")
+    Optional<Long> findCategoryIdOrZeroById(@Param("id") Long id);
+
+    // Bulk delete: unlike deleteById it does not load the article (and its content) first
+    @Modifying
+    @Query("delete from News n where n.id = :id")
+    int removeById(@Param("id") Long id);
+
+    // Counter from the V5 migration; one primary-key read, however many articles there are
+    @Query(value = "select version from news_list_version where id = 1", nativeQuery = true)
+    long findListVersion();
+
+    // Row-locked until commit, so concurrent writers each get their own increment
+    @Modifying
+    @Query(value = "update news_list_version set version = version + 1 where id = 1", nativeQuery = true)
+    int bumpListVersion();
+
+    // Ids of matching articles, best rank first; search_vector and its GIN index come from the V2 migration
+    String SEARCH_FROM = "from news n, to_tsquery('english', :query) q where n.search_vector @@ q ";
+    String SEARCH_ORDER = "order by ts_rank(n.search_vector, q) desc, n.id desc";
+
+    @Query(value = "select n.id " + SEARCH_FROM + SEARCH_ORDER, nativeQuery = true)
+    List<Long> searchIds(@Param("query") String query, Pageable pageable);
+
+    @Query(value = "select n.id " + SEARCH_FROM + "and n.category_id = :categoryId " + SEARCH_ORDER, nativeQuery = true)
+    List<Long> searchIdsInCategory(@Param("query") String query, @Param("categoryId") Long categoryId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "where n.id in :ids")
+    List<NewsSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Forward-only cursor for bulk export; PostgreSQL only honours the fetch size inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select n from News n left join fetch n.category order by n.id")
+    Stream<News> streamAll();
 }
@@ -0,0 +1,18 @@
+package org.ratha.virtualbookstore.repository;
+
+import org.ratha.virtualbookstore.model.SigningKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface SigningKeyRepository extends JpaRepository<SigningKey, String> {
+
+    List<SigningKey> findByAlgorithmOrderByActivatesAtDesc(String algorithm);
+
+    // Transaction-scoped advisory lock: blocks until no other node holds it, released on commit.
+    // Wrapped in count(*) because pg_advisory_xact_lock itself returns void
+    @Query(value = "select count(*) from (select pg_advisory_xact_lock(:key)) as locked", nativeQuery = true)
+    long lockForRotation(@Param("key") long key);
+}
@@ -1,23 +1,38 @@
 package org.ratha.virtualbookstore.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.ratha.virtualbookstore.security.VerifiedTokenCache.VerifiedToken;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final JwtUtil jwtUtils;
-    private final CustomUserDetailsService customUserDetailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationStore revocationStore;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtils, CustomUserDetailsService customUserDetailsService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtils,
+                                   VerifiedTokenCache verifiedTokenCache,
+                                   TokenRevocationStore revocationStore) {
         this.jwtUtils = jwtUtils;
-        this.customUserDetailsService = customUserDetailsService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.revocationStore = revocationStore;
     }
 
     @Override
@@ -28,9 +43,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String path = request.getRequestURI();
 
-        // Skip JWT validation for public routes and Swagger
+        // Skip JWT validation for login, key discovery and Swagger
         if (path.startsWith("/api/auth/") ||
-                path.startsWith("/api/") ||
+                path.startsWith("/.well-known/") ||
                 path.startsWith("/swagger-ui/") ||
                 path.startsWith("/v3/api-docs") ||
                 path.startsWith("/swagger-ui.html")) {
@@ -38,10 +53,39 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        String header = request.getHeader("Authorization");
-        String token = null;
-        String username = null;
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String token = header.substring(BEARER_PREFIX.length());
+            VerifiedToken verified = verifiedTokenCache.get(token);
+            if (verified == null) {
+                verified = verify(token);
+                if (verified != null) {
+                    verifiedTokenCache.put(token, verified);
+                }
+            }
+            // Revocation is checked on every request, cached or not, so logout takes effect immediately
+            if (verified != null && !revocationStore.isRevoked(verified.jti())) {
+                SecurityContextHolder.getContext().setAuthentication(
+                        UsernamePasswordAuthenticationToken.authenticated(verified.username(), null, verified.authorities()));
+            }
+        }
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private VerifiedToken verify(String token) {
+        try {
+            Claims claims = jwtUtils.parseClaims(token);
+            // Claims are signed by us, so trust them directly instead of reloading the user
+            String role = claims.get("role", String.class);
+            List<GrantedAuthority> authorities = role == null
+                    ? List.of()
+                    : List.of(new SimpleGrantedAuthority(role));
+            return new VerifiedToken(claims.getId(), claims.getSubject(), authorities, claims.getExpiration().getTime());
+        } catch (JwtException | IllegalArgumentException ex) {
+            // Invalid or expired token: continue unauthenticated and let the authorization rules decide
+            return null;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package org.ratha.virtualbookstore.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import jakarta.annotation.PostConstruct;
+import org.ratha.virtualbookstore.model.SigningKey;
+import org.ratha.virtualbookstore.repository.SigningKeyRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Asymmetric signing keys shared by every node through the {@code signing_key} table.
+ * <p>
+ * A successor key is always created one rotation interval before it becomes active, so every node
+ * (and every JWKS consumer) already knows its public key by the time tokens are signed with it.
+ * Retired keys stay available for verification until the last token they signed has expired.
+ * Rotation runs under a database advisory lock, so when several nodes are due at once only the
+ * first creates the successor; the others find it already there and just load it.
+ */
+@Component
+public class JwtKeyRing {
+
+    // Arbitrary application-wide advisory lock id for key rotation
+    private static final long ROTATION_LOCK = 0x4a574b52L;
+
+    private final SigningKeyRepository signingKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SignatureAlgorithm algorithm;
+    private final Duration rotationInterval;
+    private final Duration tokenLifetime;
+
+    private volatile Snapshot snapshot;
+
+    public JwtKeyRing(SigningKeyRepository signingKeyRepository,
+                      TransactionTemplate transactionTemplate,
+                      @Value("${jwt.signing.algorithm:ES256}") String algorithm,
+                      @Value("${jwt.keys.rotation-interval-ms:86400000}") long rotationIntervalMs,
+                      @Value("${jwt.expiration}") long tokenLifetimeMs) {
+        this.signingKeyRepository = signingKeyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.algorithm = resolveAlgorithm(algorithm);
+        this.rotationInterval = Duration.ofMillis(rotationIntervalMs);
+        this.tokenLifetime = Duration.ofMillis(tokenLifetimeMs);
+    }
+
+    @PostConstruct
+    public void init() {
+        rotate();
+        reload();
+    }
+
+    // Runs on every node; other nodes' rotations are picked up by the reload
+    @Scheduled(initialDelayString = "${jwt.keys.refresh-interval-ms:60000}",
+            fixedDelayString = "${jwt.keys.refresh-interval-ms:60000}")
+    public void refresh() {
+        try {
+            rotate();
+            reload();
+        } catch (DataAccessException e) {
+            // Keep verifying and signing with the keys we already have until the database is back
+        }
+    }
+
+    public SignatureAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public ActiveKey currentSigningKey() {
+        Instant now = Instant.now();
+        for (ActiveKey key : snapshot.keys()) {
+            if (!key.activatesAt().isAfter(now)) {
+                return key;
+            }
+        }
+        // Only pre-published keys exist (clock skew between nodes): use the oldest one
+        return snapshot.keys().get(snapshot.keys().size() - 1);
+    }
+
+    public PublicKey verificationKey(String kid) {
+        return snapshot.publicKeys().get(kid);
+    }
+
+    public Map<String, Object> getJwkSet() {
+        return snapshot.jwkSet();
+    }
+
+    private void rotate() {
+        transactionTemplate.executeWithoutResult(status -> {
+            signingKeyRepository.lockForRotation(ROTATION_LOCK);
+            rotateLocked();
+        });
+    }
+
+    // Reads the keys only after taking the lock, so it sees any successor another node just created
+    private void rotateLocked() {
+        Instant now = Instant.now();
+        List<SigningKey> keys = signingKeyRepository.findByAlgorithmOrderByActivatesAtDesc(algorithm.getId());
+
+        if (keys.isEmpty()) {
+            signingKeyRepository.save(newKey(now));
+            signingKeyRepository.save(newKey(now.plus(rotationInterval)));
+            return;
+        }
+
+        // Always keep one key published ahead of the one in use
+        SigningKey newest = keys.get(0);
+        if (!newest.getActivatesAt().isAfter(now)) {
+            Instant next = newest.getActivatesAt().plus(rotationInterval);
+            signingKeyRepository.save(newKey(next.isAfter(now) ? next : now.plus(rotationInterval)));
+        }
+
+        // A key retires when its successor activates; drop it once its last token has expired
+        List<SigningKey> expired = new ArrayList<>();
+        for (int i = 1; i < keys.size(); i++) {
+            Instant retiredAt = keys.get(i - 1).getActivatesAt();
+            if (retiredAt.plus(tokenLifetime).isBefore(now)) {
+                expired.add(keys.get(i));
+            }
+        }
+        signingKeyRepository.deleteAll(expired);
+    }
+
+    private void reload() {
+        List<ActiveKey> keys = new ArrayList<>();
+        Map<String, PublicKey> publicKeys = new HashMap<>();
+        List<Map<String, Object>> jwks = new ArrayList<>();
+
+        for (SigningKey stored : signingKeyRepository.findByAlgorithmOrderByActivatesAtDesc(algorithm.getId())) {
+            ActiveKey key = decode(stored);
+            keys.add(key);
+            publicKeys.put(key.kid(), key.publicKey());
+
+            Jwk<?> jwk = Jwks.builder().key(key.publicKey())
+                    .id(key.kid())
+                    .algorithm(algorithm.getId())
+                    .publicKeyUse("sig")
+                    .build();
+            jwks.add(new LinkedHashMap<String, Object>(jwk));
+        }
+
+        Map<String, Object> jwkSet = new LinkedHashMap<>();
+        jwkSet.put("keys", List.copyOf(jwks));
+        this.snapshot = new Snapshot(List.copyOf(keys), Map.copyOf(publicKeys), Map.copyOf(jwkSet));
+    }
+
+    private SigningKey newKey(Instant activatesAt) {
+        KeyPair keyPair = algorithm.keyPair().build();
+        SigningKey key = new SigningKey();
+        key.setKid(UUID.randomUUID().toString());
+        key.setAlgorithm(algorithm.getId());
+        key.setPrivateKey(keyPair.getPrivate().getEncoded());
+        key.setPublicKey(keyPair.getPublic().getEncoded());
+        key.setActivatesAt(activatesAt);
+        return key;
+    }
+
+    private ActiveKey decode(SigningKey stored) {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(keyFactoryAlgorithm(algorithm));
+            PrivateKey privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(stored.getPrivateKey()));
+            PublicKey publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(stored.getPublicKey()));
+            return new ActiveKey(stored.getKid(), privateKey, publicKey, stored.getActivatesAt());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot decode signing key " + stored.getKid(), e);
+        }
+    }
+
+    private static SignatureAlgorithm resolveAlgorithm(String id) {
+        return switch (id) {
+            case "RS256" -> Jwts.SIG.RS256;
+            case "ES256" -> Jwts.SIG.ES256;
+            case "EdDSA" -> Jwts.SIG.EdDSA;
+            default -> throw new IllegalArgumentException("Unsupported jwt.signing.algorithm: " + id);
+        };
+    }
+
+    private static String keyFactoryAlgorithm(SignatureAlgorithm algorithm) {
+        if (algorithm == Jwts.SIG.RS256) {
+            return "RSA";
+        }
+        if (algorithm == Jwts.SIG.ES256) {
+            return "EC";
+        }
+        return "EdDSA";
+    }
+
+    public record ActiveKey(String kid, PrivateKey privateKey, PublicKey publicKey, Instant activatesAt) {
+    }
+
+    // Published as a whole so readers never see a half-updated ring
+    private record Snapshot(List<ActiveKey> keys, Map<String, PublicKey> publicKeys, Map<String, Object> jwkSet) {
+    }
+}
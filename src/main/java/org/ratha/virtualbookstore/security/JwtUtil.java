@@ -1,32 +1,75 @@
 package org.ratha.virtualbookstore.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
 import io.jsonwebtoken.security.Keys;
-import java.security.Key;
+import org.ratha.virtualbookstore.security.JwtKeyRing.ActiveKey;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private final JwtKeyRing keyRing;
+    private final SecretKey legacyKey;
+    private final Instant legacyAcceptUntil;
+    private final JwtParser parser;
+    private final long expirationMs;
 
-    @Value("${jwt.expiration}")
-    private long expirationMs;
+    public JwtUtil(JwtKeyRing keyRing,
+                   @Value("${jwt.secret:}") String legacySecret,
+                   @Value("${jwt.legacy-accept-until:}") String legacyAcceptUntilText,
+                   @Value("${jwt.expiration}") long expirationMs) {
+        this.keyRing = keyRing;
+        // HMAC key is only kept to verify tokens issued before asymmetric signing was enabled, and only
+        // until a fixed cutoff: without both a secret and a cutoff, tokens without a kid are rejected
+        boolean legacyEnabled = !legacySecret.isBlank() && !legacyAcceptUntilText.isBlank();
+        this.legacyKey = legacyEnabled ? Keys.hmacShaKeyFor(legacySecret.getBytes(StandardCharsets.UTF_8)) : null;
+        this.legacyAcceptUntil = legacyEnabled ? Instant.parse(legacyAcceptUntilText) : Instant.MIN;
+        // The parser is immutable and thread-safe; keys are resolved per token by kid
+        this.parser = Jwts.parser().keyLocator(new LocatorAdapter<Key>() {
+            @Override
+            protected Key locate(JwsHeader header) {
+                String kid = header.getKeyId();
+                if (kid != null) {
+                    return keyRing.verificationKey(kid);
+                }
+                // A null key makes the parser reject the token
+                return Instant.now().isBefore(legacyAcceptUntil) ? legacyKey : null;
+            }
+        }).build();
+        this.expirationMs = expirationMs;
+    }
 
-    // Generate a JWT token
+    // Generate a JWT token signed with the current key from the key ring
     public String generateToken(String username, String role) {
-        Key key = Keys.hmacShaKeyFor(secret.getBytes());
-        return Jwts.builder().subject(username)
+        ActiveKey signingKey = keyRing.currentSigningKey();
+        return Jwts.builder().header().keyId(signingKey.kid()).and()
+                .id(UUID.randomUUID().toString())
+                .subject(username)
                 .claim("role", role).issuedAt(new Date()).expiration(new Date(System.currentTimeMillis() + expirationMs))
-                .signWith(key)
+                .signWith(signingKey.privateKey(), keyRing.getAlgorithm())
                 .compact();
     }
 
-}
\ No newline at end of file
+    public long getExpirationMs() {
+        return expirationMs;
+    }
+
+    // Verify signature and expiry; throws JwtException if the token is invalid
+    public Claims parseClaims(String token) throws JwtException {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+}
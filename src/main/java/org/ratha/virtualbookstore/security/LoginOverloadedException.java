@@ -0,0 +1,8 @@
+package org.ratha.virtualbookstore.security;
+
+// Thrown when the password hashing pool cannot take another login
+public class LoginOverloadedException extends RuntimeException {
+    public LoginOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,121 @@
+package org.ratha.virtualbookstore.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-username and per-IP login throttling, checked before any user lookup or password hash.
+ * Each key has a sliding-window counter packed into a single {@link AtomicLong} and updated with
+ * CAS, so concurrent checks never block. Keys idle for a full window are swept out, and the number
+ * of tracked keys is capped; once the cap is hit new keys are not tracked until the next sweep.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final ConcurrentHashMap<String, SlidingWindowCounter> usernameCounters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, SlidingWindowCounter> ipCounters = new ConcurrentHashMap<>();
+    private final int usernameLimit;
+    private final int ipLimit;
+    private final long windowMs;
+    private final int maxKeys;
+
+    public LoginRateLimiter(@Value("${security.login.rate-limit.username-attempts:5}") int usernameLimit,
+                            @Value("${security.login.rate-limit.ip-attempts:20}") int ipLimit,
+                            @Value("${security.login.rate-limit.window-ms:60000}") long windowMs,
+                            @Value("${security.login.rate-limit.max-keys:100000}") int maxKeys) {
+        this.usernameLimit = usernameLimit;
+        this.ipLimit = ipLimit;
+        this.windowMs = windowMs;
+        this.maxKeys = maxKeys;
+    }
+
+    public void checkLogin(String username, String clientIp) {
+        checkLogin(username, clientIp, System.currentTimeMillis());
+    }
+
+    void checkLogin(String username, String clientIp, long nowMs) {
+        if (clientIp != null && !tryAcquire(ipCounters, clientIp, ipLimit, nowMs)) {
+            throw new LoginThrottledException("Too many login attempts from this address", retryAfterSeconds());
+        }
+        if (username != null && !tryAcquire(usernameCounters, username.toLowerCase(Locale.ROOT), usernameLimit, nowMs)) {
+            throw new LoginThrottledException("Too many login attempts for this user", retryAfterSeconds());
+        }
+    }
+
+    public int trackedKeys() {
+        return usernameCounters.size() + ipCounters.size();
+    }
+
+    @Scheduled(fixedDelayString = "${security.login.rate-limit.window-ms:60000}")
+    public void evictIdle() {
+        evictIdle(System.currentTimeMillis());
+    }
+
+    void evictIdle(long nowMs) {
+        long window = nowMs / windowMs;
+        usernameCounters.values().removeIf(counter -> counter.isIdle(window));
+        ipCounters.values().removeIf(counter -> counter.isIdle(window));
+    }
+
+    private boolean tryAcquire(ConcurrentHashMap<String, SlidingWindowCounter> counters, String key, int limit, long nowMs) {
+        SlidingWindowCounter counter = counters.get(key);
+        if (counter == null) {
+            if (counters.size() >= maxKeys) {
+                return true;
+            }
+            counter = counters.computeIfAbsent(key, k -> new SlidingWindowCounter());
+        }
+        return counter.tryAcquire(nowMs, windowMs, limit);
+    }
+
+    private long retryAfterSeconds() {
+        return Math.max(1, windowMs / 1000);
+    }
+
+    /**
+     * Approximate sliding window: the previous window's count is weighted by how much of it still
+     * overlaps the sliding window. State layout: window index (32 bits) | previous (16) | current (16).
+     */
+    static final class SlidingWindowCounter {
+
+        private static final long COUNT_MASK = 0xFFFFL;
+        private static final long WINDOW_MASK = 0xFFFFFFFFL;
+
+        private final AtomicLong state = new AtomicLong();
+
+        boolean tryAcquire(long nowMs, long windowMs, int limit) {
+            long window = (nowMs / windowMs) & WINDOW_MASK;
+            double remainingOverlap = 1.0 - (double) (nowMs % windowMs) / windowMs;
+            while (true) {
+                long current = state.get();
+                long stateWindow = current >>> 32;
+                long previousCount = (current >>> 16) & COUNT_MASK;
+                long currentCount = current & COUNT_MASK;
+
+                if (stateWindow != window) {
+                    previousCount = ((stateWindow + 1) & WINDOW_MASK) == window ? currentCount : 0;
+                    currentCount = 0;
+                }
+                if (previousCount * remainingOverlap + currentCount >= limit) {
+                    return false;
+                }
+
+                long next = (window << 32) | (previousCount << 16) | Math.min(currentCount + 1, COUNT_MASK);
+                if (state.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+
+        // Nothing recorded in this or the previous window can still count against the limit
+        boolean isIdle(long window) {
+            long stateWindow = state.get() >>> 32;
+            return ((stateWindow + 1) & WINDOW_MASK) < (window & WINDOW_MASK);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package org.ratha.virtualbookstore.security;
+
+// Thrown when a username or client IP has used up its login attempts for the current window
+public class LoginThrottledException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,5 +1,6 @@
 package org.ratha.virtualbookstore.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -30,6 +31,8 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**", "/api/**", "/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+                        .requestMatchers("/.well-known/jwks.json", "/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
 
@@ -44,7 +47,20 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength) {
+            // Flag any hash whose cost differs from the configured one so it is re-hashed on the next login
+            @Override
+            public boolean upgradeEncoding(String encodedPassword) {
+                if (encodedPassword == null || encodedPassword.length() < 7) {
+                    return false;
+                }
+                try {
+                    return Integer.parseInt(encodedPassword.substring(4, 6)) != strength;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        };
     }
 }
@@ -0,0 +1,173 @@
+package org.ratha.virtualbookstore.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.ratha.virtualbookstore.cache.CacheInvalidationBus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Denylist of revoked token ids (jti). A Bloom filter answers "definitely not revoked" for almost
+ * every request without allocating; only possible hits are confirmed against the exact set.
+ * Entries expire with the token itself, so memory tracks the number of live revoked tokens rather
+ * than the number of tokens ever issued, and {@code max-entries} caps it outright. If a burst of
+ * logouts exceeds the cap, the cache evicts some ids and those tokens stay valid until their (short)
+ * expiry.
+ * <p>
+ * Revocations are broadcast over the {@link CacheInvalidationBus} so a logout is honoured by every
+ * node. A node that loses its bus connection can miss revocations made in the meantime; those
+ * tokens then stay usable there until they expire.
+ */
+@Component
+public class TokenRevocationStore {
+
+    private static final String TOPIC = "revoked-token";
+
+    private final Cache<String, Long> revoked;
+    private final int bloomBits;
+    private final int bloomHashes;
+
+    private final CacheInvalidationBus invalidationBus;
+    private final LongSupplier clock;
+
+    private volatile BloomFilter filter;
+
+    @Autowired
+    public TokenRevocationStore(@Value("${jwt.revocation.expected-entries:100000}") int expectedEntries,
+                                @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                                @Value("${jwt.revocation.max-entries:1000000}") long maxEntries,
+                                CacheInvalidationBus invalidationBus) {
+        this(expectedEntries, falsePositiveRate, maxEntries, invalidationBus, System::currentTimeMillis);
+    }
+
+    // Clock in epoch milliseconds; tests pass their own to expire entries without waiting
+    TokenRevocationStore(int expectedEntries, double falsePositiveRate, long maxEntries,
+                         CacheInvalidationBus invalidationBus, LongSupplier clock) {
+        this.clock = clock;
+        // Ticker counts from construction; epoch millis in nanos would overflow a long
+        long origin = clock.getAsLong();
+        // Each entry lives until its token's exp
+        this.revoked = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(Expiry.creating((String jti, Long expiresAtMillis) ->
+                        Duration.ofMillis(Math.max(0, expiresAtMillis - clock.getAsLong()))))
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.getAsLong() - origin))
+                .build();
+        double ln2 = Math.log(2);
+        this.bloomBits = (int) Math.ceil(-expectedEntries * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.bloomHashes = Math.max(1, (int) Math.round((double) bloomBits / expectedEntries * ln2));
+        this.filter = new BloomFilter(bloomBits, bloomHashes);
+        this.invalidationBus = invalidationBus;
+        // Nothing to reset: missed revocations cannot be recovered, see the class comment
+        invalidationBus.subscribe(TOPIC, this::add, () -> { });
+    }
+
+    public void revoke(String jti, long expiresAtMillis) {
+        if (jti == null || expiresAtMillis <= clock.getAsLong()) {
+            return;
+        }
+        invalidationBus.publish(TOPIC, expiresAtMillis + ":" + jti);
+    }
+
+    // Key is "<expiresAtMillis>:<jti>"
+    private synchronized void add(String key) {
+        String[] parts = key.split(":", 2);
+        long expiresAtMillis = Long.parseLong(parts[0]);
+        if (expiresAtMillis <= clock.getAsLong()) {
+            return;
+        }
+        revoked.put(parts[1], expiresAtMillis);
+        filter.add(parts[1]);
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        return revoked.getIfPresent(jti) != null;
+    }
+
+    public int size() {
+        return (int) revoked.estimatedSize();
+    }
+
+    // Bloom filters cannot delete, so drop expired ids and rebuild the filter from what is left
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-ms:60000}")
+    public synchronized void purgeExpired() {
+        revoked.cleanUp();
+
+        BloomFilter rebuilt = new BloomFilter(bloomBits, bloomHashes);
+        revoked.asMap().keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+    }
+
+    private static final class BloomFilter {
+
+        private final AtomicLongArray words;
+        private final int bits;
+        private final int hashes;
+
+        BloomFilter(int bits, int hashes) {
+            this.words = new AtomicLongArray((bits + 63) >>> 6);
+            this.bits = bits;
+            this.hashes = hashes;
+        }
+
+        void add(String value) {
+            long h1 = mix(value.hashCode());
+            long h2 = secondHash(value);
+            for (int i = 0; i < hashes; i++) {
+                int bit = index(h1 + i * h2);
+                long mask = 1L << bit;
+                int word = bit >>> 6;
+                long current;
+                do {
+                    current = words.get(word);
+                } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String value) {
+            long h1 = mix(value.hashCode());
+            long h2 = secondHash(value);
+            for (int i = 0; i < hashes; i++) {
+                int bit = index(h1 + i * h2);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int index(long hash) {
+            return (int) ((hash & Long.MAX_VALUE) % bits);
+        }
+
+        // Independent 64-bit hash over the characters, computed without allocating
+        private static long secondHash(String value) {
+            long h = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                h ^= value.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            return mix(h) | 1;
+        }
+
+        private static long mix(long h) {
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb3f53fe1a85bL;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package org.ratha.virtualbookstore.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.ratha.virtualbookstore.cache.CacheInvalidationBus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Short-lived cache of loaded users in front of {@link CustomUserDetailsService}. Copies go in and
+ * come out because Spring Security erases the password on the instance it authenticates with.
+ * Changes to a user are broadcast over the {@link CacheInvalidationBus}, so every node drops its copy
+ * once the change commits; the TTL only bounds staleness while a node's bus connection is down.
+ */
+@Component
+public class TtlUserCache implements UserCache {
+
+    private static final String TOPIC = "users";
+
+    private final Cache<String, UserDetails> cache;
+    private final CacheInvalidationBus invalidationBus;
+
+    public TtlUserCache(@Value("${security.user-cache.ttl-ms:60000}") long ttlMs,
+                        @Value("${security.user-cache.max-size:10000}") long maxSize,
+                        MeterRegistry meterRegistry,
+                        CacheInvalidationBus invalidationBus) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "security.users");
+        this.invalidationBus = invalidationBus;
+        invalidationBus.subscribe(TOPIC, cache::invalidate, cache::invalidateAll);
+    }
+
+    // Drops the user on every node after the writing transaction commits
+    public void evictEverywhere(String username) {
+        invalidationBus.publish(TOPIC, username);
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        UserDetails cached = cache.getIfPresent(username);
+        return cached == null ? null : User.withUserDetails(cached).build();
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        cache.put(user.getUsername(), User.withUserDetails(user).build());
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        cache.invalidate(username);
+    }
+}
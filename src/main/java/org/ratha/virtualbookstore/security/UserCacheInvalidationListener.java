@@ -0,0 +1,23 @@
+package org.ratha.virtualbookstore.security;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.ratha.virtualbookstore.model.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+// Drops a cached user on every node whenever the row changes (password, role) or is deleted
+@Component
+public class UserCacheInvalidationListener {
+
+    @Lazy
+    @Autowired
+    private TtlUserCache userCache;
+
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        userCache.evictEverywhere(user.getUsername());
+    }
+}
@@ -0,0 +1,93 @@
+package org.ratha.virtualbookstore.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers tokens that already passed signature verification so repeated requests with the same
+ * bearer token skip the Base64 decode, HMAC check and claims parsing. Entries are keyed by a SHA-256
+ * digest of the raw token, expire at the token's own {@code exp} and are evicted by size.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final Cache<TokenDigest, VerifiedToken> cache;
+    private final LongSupplier clock;
+
+    @Autowired
+    public VerifiedTokenCache(@Value("${jwt.cache.max-size:10000}") long maxSize, MeterRegistry meterRegistry) {
+        this(maxSize, meterRegistry, System::currentTimeMillis);
+    }
+
+    // Clock in epoch milliseconds; tests pass their own to expire entries without waiting
+    VerifiedTokenCache(long maxSize, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.clock = clock;
+        // Ticker counts from construction; epoch millis in nanos would overflow a long
+        long origin = clock.getAsLong();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.creating((TokenDigest digest, VerifiedToken token) ->
+                        Duration.ofMillis(Math.max(0, token.expiresAtMillis() - clock.getAsLong()))))
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.getAsLong() - origin))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified-tokens");
+    }
+
+    public VerifiedToken get(String token) {
+        VerifiedToken verified = cache.getIfPresent(digest(token));
+        if (verified != null && verified.expiresAtMillis() <= clock.getAsLong()) {
+            return null;
+        }
+        return verified;
+    }
+
+    public void put(String token, VerifiedToken verified) {
+        cache.put(digest(token), verified);
+    }
+
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    private static TokenDigest digest(String token) {
+        MessageDigest sha256 = SHA_256.get();
+        ByteBuffer hash = ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        // 128 bits of SHA-256 is plenty to tell tokens apart and keeps the key to two longs
+        return new TokenDigest(hash.getLong(), hash.getLong());
+    }
+
+    private record TokenDigest(long high, long low) {
+    }
+
+    public record VerifiedToken(String jti, String username, List<GrantedAuthority> authorities, long expiresAtMillis) {
+    }
+}
@@ -1,15 +1,20 @@
 package org.ratha.virtualbookstore.service;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.ratha.virtualbookstore.DTO.request.AuthRequest;
 import org.ratha.virtualbookstore.DTO.response.AuthResponse;
-import org.ratha.virtualbookstore.model.User;
-import org.ratha.virtualbookstore.repository.UserRepository;
 import org.ratha.virtualbookstore.security.JwtUtil;
+import org.ratha.virtualbookstore.security.LoginRateLimiter;
+import org.ratha.virtualbookstore.security.PasswordHashingExecutor;
+import org.ratha.virtualbookstore.security.TokenRevocationStore;
+import org.ratha.virtualbookstore.service.RefreshTokenService.IssuedRefreshToken;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
@@ -23,36 +28,69 @@ public class AuthService {
     private JwtUtil jwtUtil;
 
     @Autowired
-    private UserRepository userRepository;
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
+    @Autowired
+    private TokenRevocationStore revocationStore;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    public AuthResponse login(AuthRequest authRequest, String clientIp) {
+        // Reject throttled attempts before any user lookup or password hash
+        loginRateLimiter.checkLogin(authRequest.getUsername(), clientIp);
 
-    public AuthResponse login(AuthRequest authRequest) {
         try {
-            // Authenticate the user
-            Authentication authentication = authenticationManager.authenticate(
+            // Authenticate the user on the hashing pool so BCrypt never runs on a request thread
+            Authentication authentication = passwordHashingExecutor.execute(() -> authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(authRequest.getUsername(), authRequest.getPassword())
-            );
+            ));
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
-            // Find the user
-            User user = userRepository.findByUsername(authRequest.getUsername())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
+            // The authenticated principal already carries the username and role, no second lookup needed
+            String username = authentication.getName();
+            String role = authentication.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .findFirst()
+                    .orElse(null);
 
-            // Generate JWT token
-            String jwt = jwtUtil.generateToken(user.getUsername(), user.getRole());
+            // Generate a short-lived JWT plus a refresh token so renewals skip the password check
+            String jwt = jwtUtil.generateToken(username, role);
+            IssuedRefreshToken refreshToken = refreshTokenService.issue(username, role);
 
             // Return AuthResponse
-            return new AuthResponse(jwt, user.getUsername(), user.getRole());
+            return new AuthResponse(jwt, username, role,
+                    refreshToken.token(), jwtUtil.getExpirationMs() / 1000);
 
         } catch (BadCredentialsException ex) {
             throw new BadCredentialsException("Invalid username or password");
         } catch (RuntimeException ex) {
-            throw ex; // User not found
+            throw ex;
         } catch (Exception ex) {
             throw new RuntimeException("Login failed: " + ex.getMessage());
         }
     }
 
-    public void logout() {
+    public AuthResponse refresh(String refreshToken) {
+        IssuedRefreshToken rotated = refreshTokenService.rotate(refreshToken);
+        String jwt = jwtUtil.generateToken(rotated.username(), rotated.role());
+        return new AuthResponse(jwt, rotated.username(), rotated.role(),
+                rotated.token(), jwtUtil.getExpirationMs() / 1000);
+    }
+
+    public void logout(String token, String refreshToken) {
+        if (token != null) {
+            try {
+                Claims claims = jwtUtil.parseClaims(token);
+                revocationStore.revoke(claims.getId(), claims.getExpiration().getTime());
+            } catch (JwtException | IllegalArgumentException ex) {
+                // Invalid or expired tokens are already unusable
+            }
+        }
+        refreshTokenService.revoke(refreshToken);
         SecurityContextHolder.clearContext();
     }
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package org.ratha.virtualbookstore.service;
+
+import org.ratha.virtualbookstore.DTO.response.BulkJobStatusResponse;
+import org.ratha.virtualbookstore.DTO.response.BulkJobStatusResponse.ItemError;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Progress of one bulk import; updated by the reader and worker threads, read by status polls
+class BulkImportJob {
+
+    private final String id;
+    private final int maxReportedErrors;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final List<ItemError> errors = new ArrayList<>();
+
+    private boolean started;
+    private boolean readingFinished;
+    private String readError;
+    private long received;
+    private long succeeded;
+    private long failed;
+    private int chunksSubmitted;
+    private int chunksDone;
+    private LocalDateTime finishedAt;
+
+    BulkImportJob(String id, int maxReportedErrors) {
+        this.id = id;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    synchronized void start() {
+        started = true;
+    }
+
+    synchronized void chunkSubmitted(int size) {
+        chunksSubmitted++;
+        received += size;
+    }
+
+    synchronized void recordSuccess(int count) {
+        succeeded += count;
+    }
+
+    synchronized void recordFailure(long index, String title, String message) {
+        failed++;
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new ItemError(index, title, message));
+        }
+    }
+
+    synchronized void chunkDone() {
+        chunksDone++;
+        finishIfDone();
+    }
+
+    synchronized void finishReading(String error) {
+        readingFinished = true;
+        readError = error;
+        finishIfDone();
+    }
+
+    synchronized boolean isFinishedBefore(LocalDateTime cutoff) {
+        return finishedAt != null && finishedAt.isBefore(cutoff);
+    }
+
+    synchronized BulkJobStatusResponse toResponse() {
+        BulkJobStatusResponse response = new BulkJobStatusResponse();
+        response.setId(id);
+        response.setStatus(finishedAt != null ? (readError != null ? "FAILED" : "COMPLETED")
+                : started ? "RUNNING" : "QUEUED");
+        response.setReceived(received);
+        response.setProcessed(succeeded + failed);
+        response.setSucceeded(succeeded);
+        response.setFailed(failed);
+        response.setError(readError);
+        response.setErrors(List.copyOf(errors));
+        response.setCreatedAt(createdAt);
+        response.setFinishedAt(finishedAt);
+        return response;
+    }
+
+    private void finishIfDone() {
+        if (readingFinished && chunksDone == chunksSubmitted && finishedAt == null) {
+            finishedAt = LocalDateTime.now();
+        }
+    }
+}
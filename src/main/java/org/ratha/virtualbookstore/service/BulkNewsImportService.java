@@ -0,0 +1,215 @@
+package org.ratha.virtualbookstore.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.ratha.virtualbookstore.DTO.request.NewsRequestDTO;
+import org.ratha.virtualbookstore.DTO.response.BulkJobStatusResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous bulk import of news articles.
+ * <p>
+ * The request body (a JSON array or NDJSON) is spooled to a temporary file and the caller gets a
+ * job id once the upload is on disk. Spooling deliberately stays on the request thread: it only
+ * copies bytes at the client's upload speed, which the servlet thread waits on anyway, and
+ * {@code max-upload-bytes} bounds how long that takes. Parsing and database work happen later: a
+ * reader thread parses the file incrementally and hands fixed-size chunks to a bounded worker
+ * queue; when the queue is full the reader processes the chunk itself, so memory is bounded by the
+ * queue, not by the payload. Each chunk commits in its own transaction.
+ */
+@Service
+public class BulkNewsImportService {
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final ConcurrentHashMap<String, BulkImportJob> jobs = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor readerExecutor;
+    private final ThreadPoolExecutor chunkExecutor;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+    private final long jobRetentionMs;
+    private final long maxUploadBytes;
+
+    // The upload exceeded news.bulk.max-upload-bytes
+    public static class PayloadTooLargeException extends RuntimeException {
+        public PayloadTooLargeException(String message) {
+            super(message);
+        }
+    }
+
+    public BulkNewsImportService(@Value("${news.bulk.chunk-size:500}") int chunkSize,
+                                 @Value("${news.bulk.workers:2}") int workers,
+                                 @Value("${news.bulk.queue-capacity:4}") int queueCapacity,
+                                 @Value("${news.bulk.max-pending-jobs:10}") int maxPendingJobs,
+                                 @Value("${news.bulk.max-reported-errors:1000}") int maxReportedErrors,
+                                 @Value("${news.bulk.job-retention-ms:3600000}") long jobRetentionMs,
+                                 @Value("${news.bulk.max-upload-bytes:67108864}") long maxUploadBytes) {
+        this.chunkSize = chunkSize;
+        this.maxUploadBytes = maxUploadBytes;
+        this.maxReportedErrors = maxReportedErrors;
+        this.jobRetentionMs = jobRetentionMs;
+        this.readerExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxPendingJobs), namedThreads("news-bulk-reader-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        // CallerRunsPolicy makes the reader do the work itself when workers fall behind: that is the backpressure
+        this.chunkExecutor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), namedThreads("news-bulk-worker-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // contentLength is -1 when the client did not declare one (chunked upload)
+    public BulkJobStatusResponse submit(InputStream payload, long contentLength) throws IOException {
+        if (contentLength > maxUploadBytes) {
+            throw tooLarge();
+        }
+        Path spool = Files.createTempFile("news-bulk-", ".json");
+        try {
+            spoolAtMost(payload, spool);
+        } catch (IOException | PayloadTooLargeException e) {
+            Files.deleteIfExists(spool);
+            throw e;
+        }
+
+        BulkImportJob job = new BulkImportJob(UUID.randomUUID().toString(), maxReportedErrors);
+        jobs.put(job.getId(), job);
+        try {
+            readerExecutor.execute(() -> run(job, spool));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            Files.deleteIfExists(spool);
+            throw e;
+        }
+        return job.toResponse();
+    }
+
+    // Counts while copying, so a body without (or lying about) Content-Length cannot fill the disk either
+    private void spoolAtMost(InputStream payload, Path spool) throws IOException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        try (OutputStream output = Files.newOutputStream(spool)) {
+            int read;
+            while ((read = payload.read(buffer)) != -1) {
+                total += read;
+                if (total > maxUploadBytes) {
+                    throw tooLarge();
+                }
+                output.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private PayloadTooLargeException tooLarge() {
+        return new PayloadTooLargeException("Bulk import payload exceeds " + maxUploadBytes + " bytes");
+    }
+
+    public BulkJobStatusResponse getJob(String id) {
+        BulkImportJob job = jobs.get(id);
+        if (job == null) {
+            throw new NewsService.NewsServiceException("Bulk job " + id + " not found");
+        }
+        return job.toResponse();
+    }
+
+    @Scheduled(fixedDelayString = "${news.bulk.job-retention-ms:3600000}")
+    public void purgeFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(jobRetentionMs * 1_000_000);
+        jobs.values().removeIf(job -> job.isFinishedBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        readerExecutor.shutdownNow();
+        chunkExecutor.shutdownNow();
+    }
+
+    private void run(BulkImportJob job, Path spool) {
+        job.start();
+        String readError = null;
+        try (InputStream input = Files.newInputStream(spool);
+             MappingIterator<NewsRequestDTO> items = objectMapper.readerFor(NewsRequestDTO.class).readValues(input)) {
+            long index = 0;
+            long chunkStart = 0;
+            List<NewsRequestDTO> chunk = new ArrayList<>(chunkSize);
+            while (items.hasNextValue()) {
+                chunk.add(items.nextValue());
+                index++;
+                if (chunk.size() == chunkSize) {
+                    submitChunk(job, chunkStart, chunk);
+                    chunkStart = index;
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                submitChunk(job, chunkStart, chunk);
+            }
+        } catch (IOException | RuntimeException e) {
+            readError = "Could not read payload: " + e.getMessage();
+        } finally {
+            job.finishReading(readError);
+            try {
+                Files.deleteIfExists(spool);
+            } catch (IOException e) {
+                // Left for the OS to clean up with the rest of the temp directory
+            }
+        }
+    }
+
+    private void submitChunk(BulkImportJob job, long firstIndex, List<NewsRequestDTO> chunk) {
+        job.chunkSubmitted(chunk.size());
+        chunkExecutor.execute(() -> processChunk(job, firstIndex, chunk));
+    }
+
+    private void processChunk(BulkImportJob job, long firstIndex, List<NewsRequestDTO> chunk) {
+        try {
+            newsService.createMultipleNews(chunk);
+            job.recordSuccess(chunk.size());
+        } catch (RuntimeException chunkFailure) {
+            // One bad article rolls back the whole chunk; retry one by one to report exactly which failed
+            for (int i = 0; i < chunk.size(); i++) {
+                NewsRequestDTO item = chunk.get(i);
+                try {
+                    newsService.createMultipleNews(List.of(item));
+                    job.recordSuccess(1);
+                } catch (RuntimeException itemFailure) {
+                    job.recordFailure(firstIndex + i, item.getTitle(), itemFailure.getMessage());
+                }
+            }
+        } finally {
+            job.chunkDone();
+        }
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
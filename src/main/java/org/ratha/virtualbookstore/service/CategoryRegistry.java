@@ -0,0 +1,144 @@
+package org.ratha.virtualbookstore.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.ratha.virtualbookstore.DTO.response.CategoryResponse;
+import org.ratha.virtualbookstore.cache.CacheInvalidationBus;
+import org.ratha.virtualbookstore.model.Category;
+import org.ratha.virtualbookstore.repository.CategoryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The whole category table held in memory as one immutable snapshot. Readers do a single volatile
+ * read and a map lookup, with no locking and no database round trip. Every category mutation makes
+ * all nodes reload the table through the {@link CacheInvalidationBus} and swap in a fresh snapshot.
+ * Returned DTOs are shared and must not be modified.
+ * <p>
+ * A reload that fails (or a notification lost while the bus reconnects) would otherwise leave the
+ * snapshot stale until the next category write, so a failed reload is retried on the next check and
+ * the table is reloaded anyway once the snapshot is older than {@code max-age-ms}.
+ */
+@Component
+public class CategoryRegistry {
+
+    public static final String TOPIC = "categories";
+
+    private final CategoryRepository categoryRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final long maxAgeMs;
+    private final Counter reloadFailures;
+    private volatile boolean reloadFailed;
+    private volatile long loadedAtMillis;
+    private final AtomicReference<Snapshot> snapshot =
+            new AtomicReference<>(new Snapshot(Map.of(), Map.of(), List.of(), version(0, null)));
+
+    public CategoryRegistry(CategoryRepository categoryRepository,
+                            CacheInvalidationBus invalidationBus,
+                            MeterRegistry meterRegistry,
+                            @Value("${categories.registry.max-age-ms:600000}") long maxAgeMs) {
+        this.categoryRepository = categoryRepository;
+        this.invalidationBus = invalidationBus;
+        this.maxAgeMs = maxAgeMs;
+        invalidationBus.subscribe(TOPIC, key -> tryReload(), this::tryReload);
+        Gauge.builder("categories.registry.size", snapshot, current -> current.get().all().size())
+                .register(meterRegistry);
+        this.reloadFailures = Counter.builder("categories.registry.reload.failures").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    public CategoryResponse findById(Long id) {
+        return snapshot.get().byId().get(id);
+    }
+
+    public CategoryResponse findByName(String name) {
+        return snapshot.get().byName().get(name);
+    }
+
+    public List<CategoryResponse> getAll() {
+        return snapshot.get().all();
+    }
+
+    // Same value the table stamp query would give for the loaded rows
+    public String getVersion() {
+        return snapshot.get().version();
+    }
+
+    // Call after any category write; every node reloads once the writing transaction commits
+    public void refresh() {
+        invalidationBus.publish(TOPIC, "reload");
+    }
+
+    // Retries a failed reload promptly and bounds staleness when a notification never arrived
+    @Scheduled(initialDelayString = "${categories.registry.check-interval-ms:5000}",
+            fixedDelayString = "${categories.registry.check-interval-ms:5000}")
+    public void reloadIfStale() {
+        if (reloadFailed || System.currentTimeMillis() - loadedAtMillis >= maxAgeMs) {
+            tryReload();
+        }
+    }
+
+    // Called from the bus listener thread and the scheduler, where an exception would be swallowed
+    private void tryReload() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            reloadFailed = true;
+            reloadFailures.increment();
+        }
+    }
+
+    // Serialized so a slow reload can never replace the result of a later one
+    private synchronized void reload() {
+        List<Category> categories = categoryRepository.findAll(Sort.by("id"));
+
+        Map<Long, CategoryResponse> byId = new HashMap<>();
+        Map<String, CategoryResponse> byName = new HashMap<>();
+        List<CategoryResponse> all = new ArrayList<>(categories.size());
+        Instant lastModified = null;
+        for (Category category : categories) {
+            CategoryResponse response = new CategoryResponse(category.getId(), category.getName());
+            response.setVersion(category.getVersion());
+            response.setLastModified(category.getUpdatedAt());
+            byId.put(response.getId(), response);
+            byName.put(response.getName(), response);
+            all.add(response);
+            if (category.getUpdatedAt() != null && (lastModified == null || category.getUpdatedAt().isAfter(lastModified))) {
+                lastModified = category.getUpdatedAt();
+            }
+        }
+
+        String version = version(categories.size(), lastModified);
+        snapshot.set(new Snapshot(Map.copyOf(byId), Map.copyOf(byName), List.copyOf(all), version));
+        loadedAtMillis = System.currentTimeMillis();
+        reloadFailed = false;
+    }
+
+    // Row count plus latest change, in microseconds to match PostgreSQL, so same-millisecond edits still differ
+    private static String version(int rows, Instant lastModified) {
+        long micros = lastModified == null ? 0
+                : lastModified.getEpochSecond() * 1_000_000 + lastModified.getNano() / 1_000;
+        return rows + "." + micros;
+    }
+
+    private record Snapshot(Map<Long, CategoryResponse> byId,
+                            Map<String, CategoryResponse> byName,
+                            List<CategoryResponse> all,
+                            String version) {
+    }
+}
@@ -10,6 +10,11 @@ public interface CategoryService {
 
     List<CategoryResponse> getCategories();
 
+    List<CategoryResponse> getCategoriesPage(int page, int size, boolean withCounts);
+
+    // Opaque value that changes whenever the category list does (and, with counts, whenever any article does)
+    String getCategoriesVersion(boolean withCounts);
+
     CategoryResponse findCategoryById(Long id);
 
     CategoryResponse findCategoryByName(String name);
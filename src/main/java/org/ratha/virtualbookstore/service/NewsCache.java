@@ -0,0 +1,76 @@
+package org.ratha.virtualbookstore.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.ratha.virtualbookstore.DTO.response.NewsResponseDTO;
+import org.ratha.virtualbookstore.cache.CacheInvalidationBus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of built {@link NewsResponseDTO}s keyed by article id, bounded by the total
+ * length of the cached text rather than the entry count. Hits are returned as-is, so cached DTOs
+ * are shared between requests and must not be modified. Evictions go through the
+ * {@link CacheInvalidationBus} so every node drops the entry.
+ */
+@Component
+public class NewsCache {
+
+    // Rough per-entry cost of the DTO, its boxed key and the cache node, in characters
+    private static final int ENTRY_OVERHEAD = 64;
+
+    public static final String TOPIC = "news";
+    public static final String CATEGORY_TOPIC = "news-category";
+
+    private final Cache<Long, NewsResponseDTO> cache;
+    private final CacheInvalidationBus invalidationBus;
+
+    public NewsCache(@Value("${news.cache.max-weight:32000000}") long maxWeight,
+                     @Value("${news.cache.ttl-ms:600000}") long ttlMs,
+                     MeterRegistry meterRegistry,
+                     CacheInvalidationBus invalidationBus) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((Long id, NewsResponseDTO news) -> weigh(news))
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "news.articles");
+
+        this.invalidationBus = invalidationBus;
+        invalidationBus.subscribe(TOPIC, key -> cache.invalidate(Long.valueOf(key)), cache::invalidateAll);
+        invalidationBus.subscribe(CATEGORY_TOPIC, key -> evictLocally(Long.valueOf(key)), cache::invalidateAll);
+    }
+
+    public NewsResponseDTO get(Long id, Function<Long, NewsResponseDTO> loader) {
+        return cache.get(id, loader);
+    }
+
+    // Delivered after commit: evicting earlier would let a concurrent read re-cache the old row
+    public void evict(Long id) {
+        invalidationBus.publish(TOPIC, id.toString());
+    }
+
+    // Articles carry their category's name, so a rename drops every article in that category
+    public void evictCategory(Long categoryId) {
+        invalidationBus.publish(CATEGORY_TOPIC, categoryId.toString());
+    }
+
+    private void evictLocally(Long categoryId) {
+        cache.asMap().values().removeIf(news -> categoryId.equals(news.getCategoryId()));
+    }
+
+    private static int weigh(NewsResponseDTO news) {
+        long length = ENTRY_OVERHEAD + length(news.getTitle()) + length(news.getContent()) + length(news.getCategoryName());
+        return (int) Math.min(length, Integer.MAX_VALUE);
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
@@ -0,0 +1,59 @@
+package org.ratha.virtualbookstore.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import org.ratha.virtualbookstore.DTO.response.NewsResponseDTO;
+import org.ratha.virtualbookstore.model.News;
+import org.ratha.virtualbookstore.repository.NewsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class NewsExportService {
+
+    private static final int FLUSH_EVERY = 500;
+
+    @Autowired
+    private NewsRepository newsRepository;
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Streams every article as one JSON object per line, reading rows through a forward-only cursor
+    @Transactional(readOnly = true)
+    public long exportNdjson(OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(NewsResponseDTO.class);
+        long count = 0;
+
+        try (Stream<News> newsStream = newsRepository.streamAll()) {
+            Iterator<News> iterator = newsStream.iterator();
+            while (iterator.hasNext()) {
+                News news = iterator.next();
+                outputStream.write(writer.writeValueAsBytes(newsService.convertToResponseDTO(news)));
+                outputStream.write('\n');
+
+                // Detach as we go so the persistence context does not grow with the table
+                entityManager.detach(news);
+                if (++count % FLUSH_EVERY == 0) {
+                    outputStream.flush();
+                }
+            }
+        }
+
+        outputStream.flush();
+        return count;
+    }
+}
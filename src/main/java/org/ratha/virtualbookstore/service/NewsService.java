@@ -3,29 +3,63 @@ package org.ratha.virtualbookstore.service;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import org.ratha.virtualbookstore.DTO.request.NewsRequestDTO;
+import org.ratha.virtualbookstore.DTO.response.CategoryResponse;
 import org.ratha.virtualbookstore.DTO.response.NewsResponseDTO;
-import org.ratha.virtualbookstore.model.Category;
+import org.ratha.virtualbookstore.DTO.response.NewsSummaryDTO;
+import org.ratha.virtualbookstore.DTO.response.PageResult;
 import org.ratha.virtualbookstore.model.News;
+import org.ratha.virtualbookstore.repository.CategoryNewsCountRepository;
 import org.ratha.virtualbookstore.repository.CategoryRepository;
 import org.ratha.virtualbookstore.repository.NewsRepository;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Service
 public class NewsService {
 
+    private static final int EXCERPT_LENGTH = 200;
+    private static final int MAX_SEARCH_TERMS = 10;
+    private static final String UNIQUE_VIOLATION = "23505";
+    private static final String TITLE_INDEX = "uk_news_title_lower";
+    private static final Pattern DUPLICATE_KEY = Pattern.compile("\\)=\\((.*)\\) already exists", Pattern.DOTALL);
+    private static final Pattern SEARCH_TERM = Pattern.compile("[\\p{L}\\p{N}]+");
+
     @Autowired
     private NewsRepository newsRepository;
 
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private CategoryNewsCountRepository categoryNewsCountRepository;
+
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+
+    @Autowired
+    private NewsCache newsCache;
+
     // Custom exception for service layer
     public static class NewsServiceException extends RuntimeException {
         public NewsServiceException(String message) {
@@ -33,33 +67,120 @@ public class NewsService {
         }
     }
 
-    public List<NewsResponseDTO> getAllNews() {
+    // Offset paging: simple, but the database still walks every skipped row
+    public PageResult<NewsSummaryDTO> getNewsPage(int page, int size) {
         try {
-            return newsRepository.findAll().stream()
-                    .map(this::convertToResponseDTO)
-                    .collect(Collectors.toList());
+            return toPage(newsRepository.findSummaries(PageRequest.of(page, size)), size);
+        } catch (Exception e) {
+            throw new NewsServiceException("Failed to retrieve news articles: " + e.getMessage());
+        }
+    }
+
+    // Keyset paging: seeks straight to the cursor position, so deep pages cost the same as the first
+    public PageResult<NewsSummaryDTO> getNewsAfter(String cursor, int size) {
+        NewsCursor position = cursor == null || cursor.isBlank() ? null : NewsCursor.decode(cursor);
+        try {
+            List<NewsSummaryDTO> news = position == null
+                    ? newsRepository.findFirstSummaryPage(PageRequest.of(0, size))
+                    : newsRepository.findSummaryPageAfter(position.publishedDate(), position.id(), PageRequest.of(0, size));
+            return toPage(news, size);
+        } catch (Exception e) {
+            throw new NewsServiceException("Failed to retrieve news articles: " + e.getMessage());
+        }
+    }
+
+    // Keyset paging within one category; an empty first page distinguishes "no articles" from "no such category"
+    public PageResult<NewsSummaryDTO> getNewsInCategory(Long categoryId, String cursor, int size) {
+        NewsCursor position = cursor == null || cursor.isBlank() ? null : NewsCursor.decode(cursor);
+        List<NewsSummaryDTO> news;
+        try {
+            news = position == null
+                    ? newsRepository.findFirstSummaryPageInCategory(categoryId, PageRequest.of(0, size))
+                    : newsRepository.findSummaryPageInCategoryAfter(categoryId, position.publishedDate(), position.id(), PageRequest.of(0, size));
         } catch (Exception e) {
             throw new NewsServiceException("Failed to retrieve news articles: " + e.getMessage());
         }
+        if (news.isEmpty() && position == null) {
+            requireCategory(categoryId);
+        }
+        return toPage(news, size);
+    }
+
+    // Ranked full-text search; every term also matches as a prefix ("edit" finds "editorial")
+    public List<NewsSummaryDTO> searchNews(String text, Long categoryId, int page, int size) {
+        String query = toPrefixQuery(text);
+        try {
+            PageRequest pageable = PageRequest.of(page, size);
+            List<Long> ids = categoryId == null
+                    ? newsRepository.searchIds(query, pageable)
+                    : newsRepository.searchIdsInCategory(query, categoryId, pageable);
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            // Summaries come back in arbitrary order, so put them back in rank order
+            Map<Long, NewsSummaryDTO> byId = newsRepository.findSummariesByIdIn(ids).stream()
+                    .collect(Collectors.toMap(NewsSummaryDTO::getId, Function.identity()));
+            return ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+        } catch (Exception e) {
+            throw new NewsServiceException("Failed to search news articles: " + e.getMessage());
+        }
+    }
+
+    // Only letters and digits reach to_tsquery, so user input can never produce a tsquery syntax error
+    private static String toPrefixQuery(String text) {
+        List<String> terms = new ArrayList<>();
+        Matcher matcher = SEARCH_TERM.matcher(text == null ? "" : text);
+        while (matcher.find() && terms.size() < MAX_SEARCH_TERMS) {
+            terms.add(matcher.group().toLowerCase(Locale.ROOT) + ":*");
+        }
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain at least one letter or digit");
+        }
+        return String.join(" & ", terms);
+    }
+
+    // Changes whenever any listing could: summaries carry category names, so categories count too
+    public String getListVersion() {
+        try {
+            return newsRepository.findListVersion() + "-" + categoryRegistry.getVersion();
+        } catch (Exception e) {
+            throw new NewsServiceException("Failed to retrieve news list version: " + e.getMessage());
+        }
+    }
+
+    private PageResult<NewsSummaryDTO> toPage(List<NewsSummaryDTO> items, int size) {
+        String next = null;
+        if (items.size() == size) {
+            NewsSummaryDTO last = items.get(items.size() - 1);
+            next = new NewsCursor(last.getPublishedDate(), last.getId()).encode();
+        }
+        return new PageResult<>(items, next);
     }
 
+    // Served from the cache when possible; only a miss touches the database
     public NewsResponseDTO getNewsById(Long id) {
         try {
-            News news = newsRepository.findById(id)
-                    .orElseThrow(() -> new NewsServiceException("News article with ID " + id + " not found"));
-            return convertToResponseDTO(news);
+            return newsCache.get(id, this::loadNews);
         } catch (Exception e) {
             throw new NewsServiceException("Error retrieving news article with ID " + id + ": " + e.getMessage());
         }
     }
 
+    private NewsResponseDTO loadNews(Long id) {
+        News news = newsRepository.findWithCategoryById(id)
+                .orElseThrow(() -> new NewsServiceException("News article with ID " + id + " not found"));
+        return convertToResponseDTO(news);
+    }
+
     @Transactional
     public List<NewsResponseDTO> createMultipleNews(@Valid List<NewsRequestDTO> newsDTOs) {
         if (newsDTOs == null || newsDTOs.isEmpty()) {
             throw new NewsServiceException("News request list cannot be null or empty");
         }
 
-        List<News> newsList = new ArrayList<>();
+        // Validate everything in memory first, collecting titles and category ids for set-based lookups
+        Map<String, String> titlesByLowerCase = new LinkedHashMap<>();
+        Set<Long> categoryIds = new HashSet<>();
         for (NewsRequestDTO newsDTO : newsDTOs) {
             // Validate title and content
             if (newsDTO.getTitle() == null || newsDTO.getTitle().trim().isEmpty()) {
@@ -69,37 +190,81 @@ public class NewsService {
                 throw new NewsServiceException("Content is required for all news articles");
             }
 
-            // Check for duplicate title (case-insensitive)
-            boolean exists = newsRepository.existsByTitleIgnoreCase(newsDTO.getTitle().trim().toLowerCase());
-            if (exists) {
-                throw new NewsServiceException("A news article with the title '" + newsDTO.getTitle().trim() + "' already exists");
+            String title = newsDTO.getTitle().trim();
+            if (titlesByLowerCase.putIfAbsent(title.toLowerCase(Locale.ROOT), title) != null) {
+                throw new NewsServiceException("A news article with the title '" + title + "' already exists");
+            }
+            if (newsDTO.getCategoryId() != null) {
+                categoryIds.add(newsDTO.getCategoryId());
             }
+        }
 
+        // Validate every referenced category against the in-memory registry
+        for (Long categoryId : categoryIds) {
+            requireCategory(categoryId);
+        }
+
+        List<News> newsList = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (NewsRequestDTO newsDTO : newsDTOs) {
             News news = new News();
             news.setTitle(newsDTO.getTitle().trim());
             news.setContent(newsDTO.getContent().trim());
-            news.setPublishedDate(LocalDateTime.now());
+            news.setExcerpt(buildExcerpt(news.getContent()));
+            news.setPublishedDate(now);
 
             // Handle category
             if (newsDTO.getCategoryId() != null) {
-                Category category = categoryRepository.findById(newsDTO.getCategoryId())
-                        .orElseThrow(() -> new NewsServiceException("Category with ID " + newsDTO.getCategoryId() + " not found"));
-                news.setCategory(category);
+                // Already validated; a reference proxy only supplies the foreign key and is never loaded
+                news.setCategory(categoryRepository.getReferenceById(newsDTO.getCategoryId()));
             }
 
             newsList.add(news);
         }
 
+        // Sequence ids are pooled, so Hibernate sends these as JDBC batches on flush.
+        // Titles already in the table are rejected by the unique lower(title) index, not by a pre-check query
         try {
-            List<News> savedNews = newsRepository.saveAll(newsList);
+            List<News> savedNews = newsRepository.saveAllAndFlush(newsList);
+            Map<Long, Long> countChanges = new TreeMap<>();
+            for (News news : savedNews) {
+                if (news.getCategory() != null) {
+                    countChanges.merge(news.getCategory().getId(), 1L, Long::sum);
+                }
+            }
+            adjustCategoryCounts(countChanges);
+            newsRepository.bumpListVersion();
             return savedNews.stream()
                     .map(this::convertToResponseDTO)
                     .collect(Collectors.toList());
+        } catch (DataIntegrityViolationException e) {
+            String duplicate = duplicateTitle(e);
+            if (duplicate == null) {
+                throw new NewsServiceException("Failed to create news articles: " + e.getMessage());
+            }
+            throw new NewsServiceException("A news article with the title '"
+                    + titlesByLowerCase.getOrDefault(duplicate, duplicate) + "' already exists");
         } catch (DataAccessException e) {
             throw new NewsServiceException("Failed to create news articles: " + e.getMessage());
         }
     }
 
+    // Callers pass categories in id order so concurrent writers lock counter rows in the same order
+    private void adjustCategoryCounts(Map<Long, Long> countChanges) {
+        countChanges.forEach((categoryId, delta) -> {
+            if (delta != 0) {
+                categoryNewsCountRepository.adjust(categoryId, delta);
+            }
+        });
+    }
+
+    // The registry can lag a category created on another node by the notify delay, so only a miss asks the database
+    private void requireCategory(Long categoryId) {
+        if (categoryRegistry.findById(categoryId) == null && !categoryRepository.existsById(categoryId)) {
+            throw new NewsServiceException("Category with ID " + categoryId + " not found");
+        }
+    }
+
     @Transactional
     public NewsResponseDTO updateNews(Long id, @Valid NewsRequestDTO newsDTO) {
         try {
@@ -108,55 +273,121 @@ public class NewsService {
                 throw new NewsServiceException("Title and content are required");
             }
 
-            News news = newsRepository.findById(id)
+            News news = newsRepository.findWithCategoryById(id)
                     .orElseThrow(() -> new NewsServiceException("News article with ID " + id + " not found"));
 
-            // Check for duplicate title (case-insensitive), excluding the current news article
-            if (!news.getTitle().equalsIgnoreCase(newsDTO.getTitle().trim()) &&
-                    newsRepository.existsByTitleIgnoreCase(newsDTO.getTitle().trim().toLowerCase())) {
-                throw new NewsServiceException("A news article with the title '" + newsDTO.getTitle().trim() + "' already exists");
-            }
-
             news.setTitle(newsDTO.getTitle().trim());
             news.setContent(newsDTO.getContent().trim());
+            news.setExcerpt(buildExcerpt(news.getContent()));
+
+            Long previousCategoryId = news.getCategory() == null ? null : news.getCategory().getId();
 
             // Handle category
             if (newsDTO.getCategoryId() != null) {
-                Category category = categoryRepository.findById(newsDTO.getCategoryId())
-                        .orElseThrow(() -> new NewsServiceException("Category with ID " + newsDTO.getCategoryId() + " not found"));
-                news.setCategory(category);
+                requireCategory(newsDTO.getCategoryId());
+                news.setCategory(categoryRepository.getReferenceById(newsDTO.getCategoryId()));
             } else {
                 news.setCategory(null); // Allow removing category
             }
 
-            News updatedNews = newsRepository.save(news);
+            // Flushed here so a duplicate title surfaces as a constraint violation inside this method
+            News updatedNews = newsRepository.saveAndFlush(news);
+            if (!Objects.equals(previousCategoryId, newsDTO.getCategoryId())) {
+                Map<Long, Long> countChanges = new TreeMap<>();
+                if (previousCategoryId != null) {
+                    countChanges.put(previousCategoryId, -1L);
+                }
+                if (newsDTO.getCategoryId() != null) {
+                    countChanges.put(newsDTO.getCategoryId(), 1L);
+                }
+                adjustCategoryCounts(countChanges);
+            }
+            newsRepository.bumpListVersion();
+            newsCache.evict(id);
             return convertToResponseDTO(updatedNews);
+        } catch (DataIntegrityViolationException e) {
+            if (duplicateTitle(e) == null) {
+                throw new NewsServiceException("Database error updating news article with ID " + id + ": " + e.getMessage());
+            }
+            throw new NewsServiceException("A news article with the title '" + newsDTO.getTitle().trim() + "' already exists");
         } catch (DataAccessException e) {
             throw new NewsServiceException("Database error updating news article with ID " + id + ": " + e.getMessage());
         }
     }
 
+    @Transactional
     public void deleteNews(Long id) {
         try {
-            if (!newsRepository.existsById(id)) {
-                throw new NewsServiceException("News article with ID " + id + " not found");
+            Long categoryId = newsRepository.findCategoryIdOrZeroById(id)
+                    .orElseThrow(() -> new NewsServiceException("News article with ID " + id + " not found"));
+            newsRepository.removeById(id);
+            if (categoryId != 0) {
+                adjustCategoryCounts(Map.of(categoryId, -1L));
             }
-            newsRepository.deleteById(id);
+            newsRepository.bumpListVersion();
+            newsCache.evict(id);
         } catch (Exception e) {
             throw new NewsServiceException("Error deleting news article with ID " + id + ": " + e.getMessage());
         }
     }
 
-    private NewsResponseDTO convertToResponseDTO(News news) {
+    // Lower-cased title that hit uk_news_title_lower, or null for any other integrity violation (including other
+    // unique keys, or a detail we cannot parse). PostgreSQL reports the key as "Key (lower((title)::text))=(the title) already exists."
+    private static String duplicateTitle(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (!(cause instanceof SQLException sqlException)) {
+                continue;
+            }
+            // Batched inserts report the real error as the next exception of the BatchUpdateException
+            for (SQLException next = sqlException; next != null; next = next.getNextException()) {
+                if (!UNIQUE_VIOLATION.equals(next.getSQLState()) || !(next instanceof PSQLException psqlException)) {
+                    continue;
+                }
+                ServerErrorMessage error = psqlException.getServerErrorMessage();
+                if (error == null || !TITLE_INDEX.equals(error.getConstraint())) {
+                    return null;
+                }
+                Matcher matcher = DUPLICATE_KEY.matcher(String.valueOf(error.getDetail()));
+                return matcher.find() ? matcher.group(1).toLowerCase(Locale.ROOT) : null;
+            }
+        }
+        return null;
+    }
+
+    private static String buildExcerpt(String content) {
+        if (content.length() <= EXCERPT_LENGTH) {
+            return content;
+        }
+        // Cut at the last word boundary so the excerpt does not end mid-word
+        int end = content.lastIndexOf(' ', EXCERPT_LENGTH);
+        return content.substring(0, end > EXCERPT_LENGTH / 2 ? end : EXCERPT_LENGTH).trim() + "...";
+    }
+
+    NewsResponseDTO convertToResponseDTO(News news) {
         NewsResponseDTO dto = new NewsResponseDTO();
         dto.setId(news.getId());
         dto.setTitle(news.getTitle());
         dto.setContent(news.getContent());
         dto.setPublishedDate(news.getPublishedDate());
+        dto.setVersion(news.getVersion());
+        dto.setLastModified(news.getUpdatedAt());
 
         if (news.getCategory() != null) {
-            dto.setCategoryId(news.getCategory().getId());
-            dto.setCategoryName(news.getCategory().getName());
+            // Prefer the registry: new and updated articles only hold an unloaded reference to their category
+            CategoryResponse category = categoryRegistry.findById(news.getCategory().getId());
+            if (category == null) {
+                category = new CategoryResponse(news.getCategory().getId(), news.getCategory().getName());
+                category.setVersion(news.getCategory().getVersion());
+                category.setLastModified(news.getCategory().getUpdatedAt());
+            }
+            dto.setCategoryId(category.getId());
+            dto.setCategoryName(category.getName());
+            dto.setCategoryVersion(category.getVersion());
+            // The article shows the category name, so a rename counts as a change to the article
+            if (category.getLastModified() != null && (dto.getLastModified() == null
+                    || category.getLastModified().isAfter(dto.getLastModified()))) {
+                dto.setLastModified(category.getLastModified());
+            }
         } else {
             dto.setCategoryId(null);
             dto.setCategoryName(null);
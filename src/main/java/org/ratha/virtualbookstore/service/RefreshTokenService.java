@@ -0,0 +1,114 @@
+package org.ratha.virtualbookstore.service;
+
+import jakarta.transaction.Transactional;
+import org.ratha.virtualbookstore.model.RefreshToken;
+import org.ratha.virtualbookstore.model.User;
+import org.ratha.virtualbookstore.repository.RefreshTokenRepository;
+import org.ratha.virtualbookstore.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+@Service
+public class RefreshTokenService {
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${jwt.refresh-expiration}")
+    private long refreshExpirationMs;
+
+    public record IssuedRefreshToken(String token, String username, String role) {
+    }
+
+    // Start a new token family after a password login
+    @Transactional
+    public IssuedRefreshToken issue(String username, String role) {
+        return issue(username, role, UUID.randomUUID().toString());
+    }
+
+    // Exchange a refresh token for a new one; presenting an already used token revokes its whole family
+    @Transactional(dontRollbackOn = BadCredentialsException.class)
+    public IssuedRefreshToken rotate(String token) {
+        if (token == null || token.isBlank()) {
+            throw new BadCredentialsException("Refresh token is required");
+        }
+        String tokenHash = hash(token);
+        RefreshToken stored = refreshTokenRepository.findById(tokenHash)
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+
+        if (stored.getExpiresAt().isBefore(Instant.now())) {
+            throw new BadCredentialsException("Refresh token expired");
+        }
+        if (refreshTokenRepository.markUsed(tokenHash) == 0) {
+            // A rotated token came back, so it was copied: log out every holder of this family
+            refreshTokenRepository.deleteByFamilyId(stored.getFamilyId());
+            throw new BadCredentialsException("Refresh token reuse detected");
+        }
+
+        // Read the user on every rotation: a deleted user stops refreshing, a changed role applies from now on
+        User user = userRepository.findByUsername(stored.getUsername()).orElse(null);
+        if (user == null) {
+            refreshTokenRepository.deleteByFamilyId(stored.getFamilyId());
+            throw new BadCredentialsException("User no longer exists");
+        }
+        return issue(user.getUsername(), user.getRole(), stored.getFamilyId());
+    }
+
+    @Transactional
+    public void revoke(String token) {
+        if (token == null || token.isBlank()) {
+            return;
+        }
+        refreshTokenRepository.findById(hash(token))
+                .ifPresent(stored -> refreshTokenRepository.deleteByFamilyId(stored.getFamilyId()));
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${jwt.refresh-purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        refreshTokenRepository.deleteExpired(Instant.now());
+    }
+
+    private IssuedRefreshToken issue(String username, String role, String familyId) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(token));
+        refreshToken.setUsername(username);
+        refreshToken.setRole(role);
+        refreshToken.setFamilyId(familyId);
+        refreshToken.setExpiresAt(Instant.now().plusMillis(refreshExpirationMs));
+        refreshToken.setUsed(false);
+        refreshTokenRepository.save(refreshToken);
+
+        return new IssuedRefreshToken(token, username, role);
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -7,12 +7,18 @@ import org.ratha.virtualbookstore.DTO.response.CategoryResponse;
 import org.ratha.virtualbookstore.model.Category;
 import org.ratha.virtualbookstore.repository.CategoryRepository;
 import org.ratha.virtualbookstore.repository.NewsRepository;
+import org.ratha.virtualbookstore.service.CategoryRegistry;
 import org.ratha.virtualbookstore.service.CategoryService;
+import org.ratha.virtualbookstore.service.NewsCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,6 +30,12 @@ public class CategoryServiceImpl implements CategoryService {
     @Autowired
     private final NewsRepository newsRepository;
 
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+
+    @Autowired
+    private NewsCache newsCache;
+
     public CategoryServiceImpl(NewsRepository newsRepository) {
         this.newsRepository = newsRepository;
     }
@@ -31,21 +43,40 @@ public class CategoryServiceImpl implements CategoryService {
     @Override
     public List<CategoryResponse> getCategories() throws CategoryServiceException {
         try {
-            List<Category> categories = categoryRepository.findAll();
-            return categories.stream()
-                    .map(this::convertToResponseDTO)
-                    .collect(Collectors.toList());
+            return categoryRegistry.getAll();
+        } catch (Exception e) {
+            throw new CategoryServiceException("Failed to retrieve categories: " + e.getMessage());
+        }
+    }
+
+    // One indexed query per page; counts come from the counter table instead of loading Category.news
+    @Override
+    public List<CategoryResponse> getCategoriesPage(int page, int size, boolean withCounts) throws CategoryServiceException {
+        try {
+            PageRequest pageable = PageRequest.of(page, size);
+            return withCounts ? categoryRepository.findPageWithCounts(pageable) : categoryRepository.findPage(pageable);
         } catch (Exception e) {
             throw new CategoryServiceException("Failed to retrieve categories: " + e.getMessage());
         }
     }
 
+    @Override
+    public String getCategoriesVersion(boolean withCounts) throws CategoryServiceException {
+        try {
+            // Counts only move on news writes, and each of those bumps the news list version
+            String version = categoryRegistry.getVersion();
+            return withCounts ? version + "-" + newsRepository.findListVersion() : version;
+        } catch (Exception e) {
+            throw new CategoryServiceException("Failed to retrieve categories version: " + e.getMessage());
+        }
+    }
+
     @Override
     public CategoryResponse findCategoryById(Long id) throws CategoryServiceException {
         try {
-            Category category = categoryRepository.findById(id)
-                    .orElseThrow(() -> new CategoryServiceException("Category not found with ID: " + id));
-            return convertToResponseDTO(category);
+            // The registry can lag another node's insert by the notify delay, so a miss still asks the database
+            CategoryResponse category = categoryRegistry.findById(id);
+            return category != null ? category : loadCategory(id);
         } catch (Exception e) {
             throw new CategoryServiceException("Failed to find category: " + e.getMessage());
         }
@@ -54,9 +85,8 @@ public class CategoryServiceImpl implements CategoryService {
     @Override
     public CategoryResponse findCategoryByName(String name) throws CategoryServiceException {
         try {
-            Category category = categoryRepository.findByName(name)
-                    .orElseThrow(() -> new CategoryServiceException("Category not found with name: " + name));
-            return convertToResponseDTO(category);
+            CategoryResponse category = categoryRegistry.findByName(name);
+            return category != null ? category : loadCategoryByName(name);
         } catch (Exception e) {
             throw new CategoryServiceException("Failed to find category: " + e.getMessage());
         }
@@ -66,14 +96,25 @@ public class CategoryServiceImpl implements CategoryService {
     @Override
     public CategoryResponse getCategoryById(Long id) throws CategoryServiceException {
         try {
-            Category category = categoryRepository.findById(id)
-                    .orElseThrow(() -> new CategoryServiceException("Category not found with ID: " + id));
-            return convertToResponseDTO(category);
+            CategoryResponse category = categoryRegistry.findById(id);
+            return category != null ? category : loadCategory(id);
         }catch (Exception e) {
             throw new CategoryServiceException("Failed to retrieve category: " + e.getMessage());
         }
     }
 
+    private CategoryResponse loadCategory(Long id) {
+        Category category = categoryRepository.findById(id)
+                .orElseThrow(() -> new CategoryServiceException("Category not found with ID: " + id));
+        return convertToResponseDTO(category);
+    }
+
+    private CategoryResponse loadCategoryByName(String name) {
+        Category category = categoryRepository.findByName(name)
+                .orElseThrow(() -> new CategoryServiceException("Category not found with name: " + name));
+        return convertToResponseDTO(category);
+    }
+
     @Override
     @Transactional
     public List<CategoryResponse> createCategory(List<CategoryRequest> categoryRequests) throws CategoryServiceException {
@@ -81,25 +122,25 @@ public class CategoryServiceImpl implements CategoryService {
             throw new CategoryServiceException("Category requests cannot be null or empty");
         }
 
-        List<Category> createdCategories = new ArrayList<>();
-
+        // Normalize and dedupe in memory, keeping the first occurrence of each name
+        Map<String, Integer> positions = new LinkedHashMap<>();
         for (CategoryRequest request : categoryRequests) {
             String name = request.getName();
             if (name == null || name.trim().isEmpty()) {
                 continue; // Skip invalid names
             }
+            positions.putIfAbsent(name.trim(), positions.size());
+        }
+        if (positions.isEmpty()) {
+            return new ArrayList<>();
+        }
 
-            // Check if category with this name already exists
-            boolean exists = categoryRepository.existsByName(name);
-            if (exists) {
-                // Skip adding this category, it already exists
-                continue;
-            }
-
-            // Create and save new category
-            Category category = new Category();
-            category.setName(name);
-            createdCategories.add(categoryRepository.save(category));
+        // Existing names are skipped by the insert itself, so this is a single round trip however many names come in
+        List<Category> createdCategories = new ArrayList<>(categoryRepository.insertMissing(new ArrayList<>(positions.keySet())));
+        // RETURNING does not promise row order, so restore the request order
+        createdCategories.sort(Comparator.comparing((Category category) -> positions.get(category.getName())));
+        if (!createdCategories.isEmpty()) {
+            categoryRegistry.refresh();
         }
 
         return createdCategories.stream()
@@ -122,6 +163,8 @@ public class CategoryServiceImpl implements CategoryService {
 
         try {
             Category updatedCategory = categoryRepository.save(existingCategory);
+            categoryRegistry.refresh();
+            newsCache.evictCategory(id);
             return convertToResponseDTO(updatedCategory);
         } catch (Exception e) {
             throw new CategoryServiceException("Failed to update category: " + e.getMessage());
@@ -145,6 +188,7 @@ public class CategoryServiceImpl implements CategoryService {
 
         // Delete the category
         categoryRepository.deleteById(id);
+        categoryRegistry.refresh();
 
         return response;
     }
@@ -153,6 +197,8 @@ public class CategoryServiceImpl implements CategoryService {
         CategoryResponse dto = new CategoryResponse();
         dto.setId(category.getId());
         dto.setName(category.getName());
+        dto.setVersion(category.getVersion());
+        dto.setLastModified(category.getUpdatedAt());
         // Set other fields as needed
         return dto;
     }
@@ -0,0 +1,36 @@
+-- Objects added after the baseline: also runs on databases baselined at V1, so every statement is idempotent.
+
+-- news ids come from a pooled sequence (blocks of 50) so Hibernate can batch inserts; V2 moves it past existing ids
+alter table news alter column id drop identity if exists;
+create sequence if not exists news_seq start with 1 increment by 50;
+
+-- Summary listings read the excerpt instead of the TEXT content; older rows fall back to a substring
+alter table news add column if not exists excerpt varchar(300);
+
+-- Row versions and change times behind ETag and Last-Modified
+alter table news add column if not exists version bigint default 0 not null;
+alter table news add column if not exists updated_at timestamp(6) with time zone;
+alter table category add column if not exists version bigint default 0 not null;
+alter table category add column if not exists updated_at timestamp(6) with time zone;
+
+create index if not exists idx_news_published_date_id on news (published_date desc, id desc);
+create index if not exists idx_news_updated_at on news (updated_at);
+
+create table if not exists signing_key (
+    kid          varchar(64) primary key,
+    algorithm    varchar(16) not null,
+    private_key  bytea not null,
+    public_key   bytea not null,
+    activates_at timestamp(6) with time zone not null
+);
+
+create table if not exists refresh_token (
+    token_hash varchar(64) primary key,
+    username   varchar(255) not null,
+    role       varchar(255),
+    family_id  varchar(36) not null,
+    expires_at timestamp(6) with time zone not null,
+    used       boolean not null
+);
+
+create index if not exists idx_refresh_token_family_id on refresh_token (family_id);
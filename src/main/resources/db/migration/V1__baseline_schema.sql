@@ -0,0 +1,23 @@
+-- Schema exactly as hibernate ddl-auto=update generated it before migrations were introduced.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate), so this only runs on
+-- empty ones; everything added since lives in later migrations, which run on both.
+
+create table if not exists "user" (
+    id       bigint generated by default as identity primary key,
+    username varchar(255) not null unique,
+    password varchar(255) not null,
+    role     varchar(255)
+);
+
+create table if not exists category (
+    id   bigint generated by default as identity primary key,
+    name varchar(255) not null unique
+);
+
+create table if not exists news (
+    id             bigint generated by default as identity primary key,
+    title          varchar(255) not null unique,
+    content        text not null,
+    published_date timestamp(6) not null,
+    category_id    bigint references category (id)
+);
@@ -0,0 +1,31 @@
+-- Previously applied at startup by DatabaseSchemaInitializer; every statement is idempotent
+-- because databases baselined at V1 may already have these objects.
+
+-- news ids used to come from an IDENTITY column, so move news_seq past any existing id
+select setval('news_seq', (select coalesce(max(id), 0) + 1 from news), false)
+where (select last_value from news_seq) <= (select coalesce(max(id), 0) from news);
+
+-- Full-text search column maintained by PostgreSQL itself; title terms weigh more than content terms
+alter table news add column if not exists search_vector tsvector
+    generated always as (setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+                         setweight(to_tsvector('english', coalesce(content, '')), 'B')) stored;
+create index if not exists idx_news_search_vector on news using gin (search_vector);
+
+-- Case-insensitive title uniqueness; duplicates are detected from this index's violations
+create unique index if not exists uk_news_title_lower on news (lower(title));
+
+-- The case-sensitive unique constraint hibernate generated on title is redundant now and only slows writes
+do $$
+declare
+    constraint_name text;
+begin
+    for constraint_name in
+        select c.conname
+        from pg_constraint c
+        join pg_attribute a on a.attrelid = c.conrelid and a.attnum = any (c.conkey)
+        where c.conrelid = 'news'::regclass and c.contype = 'u'
+          and array_length(c.conkey, 1) = 1 and a.attname = 'title'
+    loop
+        execute format('alter table news drop constraint %I', constraint_name);
+    end loop;
+end $$;
@@ -0,0 +1,5 @@
+-- Serves existsByCategoryId (category delete) and category-filtered listings newest first
+create index if not exists idx_news_category_published on news (category_id, published_date desc, id desc);
+
+-- Serves the scheduled purge of expired refresh tokens
+create index if not exists idx_refresh_token_expires_at on refresh_token (expires_at);
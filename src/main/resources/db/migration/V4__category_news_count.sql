@@ -0,0 +1,12 @@
+-- Articles per category, kept current by NewsService on every create, update and delete
+create table if not exists category_news_count (
+    category_id bigint primary key references category (id) on delete cascade,
+    news_count  bigint not null default 0
+);
+
+insert into category_news_count (category_id, news_count)
+select n.category_id, count(*)
+from news n
+where n.category_id is not null
+group by n.category_id
+on conflict (category_id) do update set news_count = excluded.news_count;
@@ -0,0 +1,7 @@
+-- Single-row counter bumped by every news write; list ETags read it by primary key instead of scanning news
+create table if not exists news_list_version (
+    id      smallint primary key check (id = 1),
+    version bigint not null default 0
+);
+
+insert into news_list_version (id, version) values (1, 0) on conflict (id) do nothing;
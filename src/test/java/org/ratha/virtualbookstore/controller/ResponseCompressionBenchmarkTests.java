@@ -0,0 +1,78 @@
+package org.ratha.virtualbookstore.controller;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Compresses ~1 MB bodies over a hundred times, so it only runs in the benchmark task
+@Tag("benchmark")
+class ResponseCompressionBenchmarkTests {
+
+    private static final List<String> CODINGS = List.of(ResponseCompressionFilter.GZIP, ResponseCompressionFilter.DEFLATE);
+    private static final int ROUNDS = 20;
+
+    // Reports CPU time per response against bytes saved for each coding and level, on a ~1 MB news list.
+    // Results are published as JUnit report entries
+    @Test
+    void reportsCpuCostAgainstBytesSaved(TestReporter reporter) {
+        byte[] body = newsListJson(400);
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        for (String coding : CODINGS) {
+            for (int level : new int[]{1, 6, 9}) {
+                // Warm up the deflater paths before measuring
+                for (int i = 0; i < 3; i++) {
+                    ResponseCompressionFilter.compress(body, coding, level);
+                }
+                long start = threads.getCurrentThreadCpuTime();
+                int size = 0;
+                for (int i = 0; i < ROUNDS; i++) {
+                    size = ResponseCompressionFilter.compress(body, coding, level).length;
+                }
+                double cpuMillis = (threads.getCurrentThreadCpuTime() - start) / 1e6 / ROUNDS;
+                double saved = 100.0 * (body.length - size) / body.length;
+                reporter.publishEntry(Map.of(
+                        "coding", coding + "-" + level,
+                        "bodyBytes", String.valueOf(body.length),
+                        "compressedBytes", String.valueOf(size),
+                        "savedPercent", String.format(Locale.ROOT, "%.1f", saved),
+                        "cpuMillisPerResponse", String.format(Locale.ROOT, "%.2f", cpuMillis)));
+
+                assertTrue(saved > 50, coding + " level " + level + " saved only " + saved + "%");
+            }
+        }
+    }
+
+    // Article text built from a fixed vocabulary, roughly as repetitive as real prose
+    private static byte[] newsListJson(int articles) {
+        String[] words = ("the city council market report season library reader author chapter story week "
+                + "announced published review local national book store price new first final").split(" ");
+        Random random = new Random(42);
+        StringBuilder json = new StringBuilder("{\"status\":200,\"message\":\"Successfully retrieved news list\",\"data\":[");
+        for (int i = 0; i < articles; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i + 1)
+                    .append(",\"title\":\"Article ").append(i + 1)
+                    .append("\",\"categoryId\":").append(random.nextInt(20) + 1)
+                    .append(",\"publishedDate\":\"2025-0").append(random.nextInt(9) + 1).append("-1")
+                    .append(random.nextInt(10)).append("T08:00:00\",\"content\":\"");
+            for (int w = 0; w < 400; w++) {
+                json.append(words[random.nextInt(words.length)]).append(' ');
+            }
+            json.append("\"}");
+        }
+        return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
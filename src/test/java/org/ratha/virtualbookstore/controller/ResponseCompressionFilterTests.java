@@ -0,0 +1,43 @@
+package org.ratha.virtualbookstore.controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResponseCompressionFilterTests {
+
+    private static final List<String> CODINGS = List.of(ResponseCompressionFilter.GZIP, ResponseCompressionFilter.DEFLATE);
+
+    @Test
+    void negotiatesPreferredCoding() {
+        assertEquals("gzip", ResponseCompressionFilter.negotiate("gzip, deflate, br", CODINGS));
+        assertEquals("deflate", ResponseCompressionFilter.negotiate("gzip;q=0.5, deflate", CODINGS));
+        assertEquals("deflate", ResponseCompressionFilter.negotiate("gzip;q=0, *", CODINGS));
+        assertNull(ResponseCompressionFilter.negotiate("br", CODINGS));
+        assertNull(ResponseCompressionFilter.negotiate("gzip;q=oops", CODINGS));
+        assertNull(ResponseCompressionFilter.negotiate(null, CODINGS));
+    }
+
+    @Test
+    void compressedBodiesRoundTrip() throws IOException {
+        byte[] body = "{\"status\":200,\"data\":[{\"id\":1,\"title\":\"Local market report\"}]}".repeat(50)
+                .getBytes(StandardCharsets.UTF_8);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(
+                ResponseCompressionFilter.compress(body, ResponseCompressionFilter.GZIP, 6)))) {
+            assertArrayEquals(body, gzip.readAllBytes());
+        }
+        try (InflaterInputStream deflate = new InflaterInputStream(new ByteArrayInputStream(
+                ResponseCompressionFilter.compress(body, ResponseCompressionFilter.DEFLATE, 6)))) {
+            assertArrayEquals(body, deflate.readAllBytes());
+        }
+    }
+}
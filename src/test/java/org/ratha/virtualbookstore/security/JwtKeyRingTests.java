@@ -0,0 +1,140 @@
+package org.ratha.virtualbookstore.security;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ratha.virtualbookstore.model.SigningKey;
+import org.ratha.virtualbookstore.repository.SigningKeyRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtKeyRingTests {
+
+    private static final Duration ROTATION_INTERVAL = Duration.ofHours(1);
+    private static final Duration TOKEN_LIFETIME = Duration.ofMinutes(15);
+    private static final String LEGACY_SECRET = "legacy-secret-that-is-at-least-32-bytes-long";
+
+    // In-memory signing_key table behind a mocked repository
+    private final List<SigningKey> stored = new ArrayList<>();
+    private JwtKeyRing keyRing;
+
+    @BeforeEach
+    void setUp() {
+        SigningKeyRepository repository = mock(SigningKeyRepository.class);
+        when(repository.findByAlgorithmOrderByActivatesAtDesc("ES256")).thenAnswer(invocation -> stored.stream()
+                .sorted(Comparator.comparing(SigningKey::getActivatesAt).reversed())
+                .toList());
+        when(repository.save(any(SigningKey.class))).thenAnswer(invocation -> {
+            SigningKey key = invocation.getArgument(0);
+            stored.add(key);
+            return key;
+        });
+        doAnswer(invocation -> {
+            Iterable<SigningKey> keys = invocation.getArgument(0);
+            keys.forEach(stored::remove);
+            return null;
+        }).when(repository).deleteAll(anyIterable());
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        keyRing = new JwtKeyRing(repository, transactionTemplate, "ES256",
+                ROTATION_INTERVAL.toMillis(), TOKEN_LIFETIME.toMillis());
+    }
+
+    @Test
+    void firstStartCreatesActiveKeyAndPublishedSuccessor() {
+        keyRing.init();
+
+        assertEquals(2, stored.size());
+        Instant now = Instant.now();
+        JwtKeyRing.ActiveKey current = keyRing.currentSigningKey();
+        assertFalse(current.activatesAt().isAfter(now));
+        // The successor is already verifiable before it starts signing
+        SigningKey successor = stored.stream().filter(key -> key.getActivatesAt().isAfter(now)).findFirst().orElseThrow();
+        assertNotNull(keyRing.verificationKey(successor.getKid()));
+        assertEquals(2, ((List<?>) keyRing.getJwkSet().get("keys")).size());
+    }
+
+    @Test
+    void tokensVerifyByKidAndUnknownKidIsRejected() {
+        keyRing.init();
+        JwtUtil jwtUtil = new JwtUtil(keyRing, "", "", TOKEN_LIFETIME.toMillis());
+
+        String token = jwtUtil.generateToken("alice", "ROLE_USER");
+        assertEquals("alice", jwtUtil.parseClaims(token).getSubject());
+
+        KeyPair foreign = Jwts.SIG.ES256.keyPair().build();
+        String forged = Jwts.builder().header().keyId(UUID.randomUUID().toString()).and()
+                .subject("mallory")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(foreign.getPrivate(), Jwts.SIG.ES256)
+                .compact();
+        assertThrows(JwtException.class, () -> jwtUtil.parseClaims(forged));
+    }
+
+    @Test
+    void legacyTokensAreAcceptedOnlyBeforeTheCutoff() {
+        keyRing.init();
+        String legacyToken = Jwts.builder()
+                .subject("alice")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(LEGACY_SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        String future = Instant.now().plus(Duration.ofHours(1)).toString();
+        String past = Instant.now().minus(Duration.ofHours(1)).toString();
+        assertEquals("alice", new JwtUtil(keyRing, LEGACY_SECRET, future, 60_000).parseClaims(legacyToken).getSubject());
+        assertThrows(JwtException.class, () -> new JwtUtil(keyRing, LEGACY_SECRET, past, 60_000).parseClaims(legacyToken));
+        // A secret without a cutoff does not enable the fallback
+        assertThrows(JwtException.class, () -> new JwtUtil(keyRing, LEGACY_SECRET, "", 60_000).parseClaims(legacyToken));
+    }
+
+    @Test
+    void rotationPublishesSuccessorAndRetiresKeysOnceTheirTokensExpired() {
+        Instant now = Instant.now();
+        SigningKey retired = storedKey(now.minus(ROTATION_INTERVAL.multipliedBy(2)));
+        SigningKey current = storedKey(now.minus(ROTATION_INTERVAL));
+        keyRing.init();
+
+        // `current` has been active for a full interval, so its predecessor's last token is long expired
+        assertNull(keyRing.verificationKey(retired.getKid()));
+        assertEquals(current.getKid(), keyRing.currentSigningKey().kid());
+        assertEquals(2, stored.size());
+        assertTrue(stored.stream().anyMatch(key -> key.getActivatesAt().isAfter(now)));
+    }
+
+    private SigningKey storedKey(Instant activatesAt) {
+        KeyPair keyPair = Jwts.SIG.ES256.keyPair().build();
+        SigningKey key = new SigningKey();
+        key.setKid(UUID.randomUUID().toString());
+        key.setAlgorithm("ES256");
+        key.setPrivateKey(keyPair.getPrivate().getEncoded());
+        key.setPublicKey(keyPair.getPublic().getEncoded());
+        key.setActivatesAt(activatesAt);
+        stored.add(key);
+        return key;
+    }
+}
@@ -0,0 +1,85 @@
+package org.ratha.virtualbookstore.security;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginRateLimiterTests {
+
+    private static final long WINDOW_MS = 60_000;
+
+    @Test
+    void rejectsUsernameOverLimitUntilWindowSlides() {
+        LoginRateLimiter limiter = new LoginRateLimiter(3, 100, WINDOW_MS, 1000);
+        long now = 10 * WINDOW_MS;
+
+        for (int i = 0; i < 3; i++) {
+            limiter.checkLogin("Alice", "10.0.0." + i, now);
+        }
+        assertThrows(LoginThrottledException.class, () -> limiter.checkLogin("alice", "10.0.0.9", now));
+
+        // Half of the previous window still overlaps: 3 * 0.5 = 1.5 < 3
+        limiter.checkLogin("alice", "10.0.0.9", now + WINDOW_MS + WINDOW_MS / 2);
+    }
+
+    @Test
+    void rejectsClientIpOverLimitAcrossUsernames() {
+        LoginRateLimiter limiter = new LoginRateLimiter(100, 2, WINDOW_MS, 1000);
+        long now = 10 * WINDOW_MS;
+
+        limiter.checkLogin("a", "10.0.0.1", now);
+        limiter.checkLogin("b", "10.0.0.1", now);
+        assertThrows(LoginThrottledException.class, () -> limiter.checkLogin("c", "10.0.0.1", now));
+    }
+
+    @Test
+    void evictsIdleKeys() {
+        LoginRateLimiter limiter = new LoginRateLimiter(5, 20, WINDOW_MS, 1000);
+        long now = 10 * WINDOW_MS;
+        limiter.checkLogin("alice", "10.0.0.1", now);
+        assertEquals(2, limiter.trackedKeys());
+
+        limiter.evictIdle(now + WINDOW_MS);
+        assertEquals(2, limiter.trackedKeys());
+
+        limiter.evictIdle(now + 2 * WINDOW_MS);
+        assertEquals(0, limiter.trackedKeys());
+    }
+
+    // Microbenchmark: the limiter must stay negligible next to a 50k checks/second login load.
+    // Wall-clock based, so it only runs in the benchmark task
+    @Test
+    @Tag("benchmark")
+    void checkOverheadIsNegligibleAt50kChecksPerSecond() {
+        LoginRateLimiter limiter = new LoginRateLimiter(Integer.MAX_VALUE, Integer.MAX_VALUE, WINDOW_MS, 1_000_000);
+        String[] usernames = new String[10_000];
+        String[] ips = new String[1_000];
+        for (int i = 0; i < usernames.length; i++) {
+            usernames[i] = "user" + i;
+        }
+        for (int i = 0; i < ips.length; i++) {
+            ips[i] = "10.0." + (i / 256) + "." + (i % 256);
+        }
+
+        int warmup = 200_000;
+        for (int i = 0; i < warmup; i++) {
+            limiter.checkLogin(usernames[i % usernames.length], ips[i % ips.length]);
+        }
+
+        int checks = 1_000_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < checks; i++) {
+            limiter.checkLogin(usernames[i % usernames.length], ips[i % ips.length]);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        double nanosPerCheck = (double) elapsedNanos / checks;
+        double coreShareAt50k = nanosPerCheck * 50_000 / 1_000_000_000.0 * 100;
+
+        // Generous bound for noisy machines: under 5% of a single core at 50k checks/s
+        assertTrue(coreShareAt50k < 5.0, "Limiter overhead too high: " + nanosPerCheck + " ns/check");
+    }
+}
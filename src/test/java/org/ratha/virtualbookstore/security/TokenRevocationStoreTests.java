@@ -0,0 +1,88 @@
+package org.ratha.virtualbookstore.security;
+
+import org.junit.jupiter.api.Test;
+import org.ratha.virtualbookstore.cache.LoopbackCacheInvalidationBus;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenRevocationStoreTests {
+
+    private static final long NOW = 1_700_000_000_000L;
+    private static final long MINUTE = 60_000;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+
+    private TokenRevocationStore store(int expectedEntries, long maxEntries) {
+        return new TokenRevocationStore(expectedEntries, 0.01, maxEntries, new LoopbackCacheInvalidationBus(), clock::get);
+    }
+
+    @Test
+    void revokedTokenIsReportedAndOthersAreNot() {
+        TokenRevocationStore store = store(1000, 1000);
+        store.revoke("jti-1", NOW + 15 * MINUTE);
+
+        assertTrue(store.isRevoked("jti-1"));
+        assertFalse(store.isRevoked("jti-2"));
+        assertFalse(store.isRevoked(null));
+    }
+
+    @Test
+    void alreadyExpiredTokenIsNotStored() {
+        TokenRevocationStore store = store(1000, 1000);
+        store.revoke("jti-1", NOW);
+
+        assertFalse(store.isRevoked("jti-1"));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void rebuiltFilterHasNoFalseNegatives() {
+        // Well past the filter's expected size, so many bits are shared
+        TokenRevocationStore store = store(100, 100_000);
+        for (int i = 0; i < 5000; i++) {
+            store.revoke("jti-" + i, NOW + 15 * MINUTE);
+        }
+        store.purgeExpired();
+
+        for (int i = 0; i < 5000; i++) {
+            assertTrue(store.isRevoked("jti-" + i), "jti-" + i);
+        }
+    }
+
+    @Test
+    void expiredEntriesAreDropped() {
+        TokenRevocationStore store = store(1000, 1000);
+        store.revoke("short", NOW + MINUTE);
+        store.revoke("long", NOW + 15 * MINUTE);
+
+        clock.set(NOW + 2 * MINUTE);
+        store.purgeExpired();
+
+        assertFalse(store.isRevoked("short"));
+        assertTrue(store.isRevoked("long"));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void sizeStaysWithinMaxEntries() {
+        TokenRevocationStore store = store(1000, 100);
+        for (int i = 0; i < 1000; i++) {
+            store.revoke("jti-" + i, NOW + 15 * MINUTE);
+        }
+        store.purgeExpired();
+
+        assertTrue(store.size() <= 100, "size " + store.size());
+        // Whatever survived eviction is still refused after the rebuild
+        long stillRevoked = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (store.isRevoked("jti-" + i)) {
+                stillRevoked++;
+            }
+        }
+        assertEquals(store.size(), stillRevoked);
+    }
+}
@@ -0,0 +1,92 @@
+package org.ratha.virtualbookstore.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.ratha.virtualbookstore.cache.LoopbackCacheInvalidationBus;
+import org.ratha.virtualbookstore.security.VerifiedTokenCache.VerifiedToken;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class VerifiedTokenCacheTests {
+
+    private static final long NOW = 1_700_000_000_000L;
+    private static final long MINUTE = 60_000;
+    private static final String TOKEN = "header.payload.signature";
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(100, new SimpleMeterRegistry(), clock::get);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void entryExpiresAtTheTokensOwnExp() {
+        cache.put(TOKEN, token("jti-1", NOW + MINUTE));
+        assertNotNull(cache.get(TOKEN));
+
+        clock.set(NOW + MINUTE - 1);
+        assertNotNull(cache.get(TOKEN));
+
+        clock.set(NOW + MINUTE);
+        assertNull(cache.get(TOKEN));
+    }
+
+    @Test
+    void entriesWithDifferentExpiriesExpireIndependently() {
+        cache.put("short", token("jti-1", NOW + MINUTE));
+        cache.put("long", token("jti-2", NOW + 15 * MINUTE));
+
+        clock.set(NOW + 2 * MINUTE);
+        assertNull(cache.get("short"));
+        assertEquals("jti-2", cache.get("long").jti());
+    }
+
+    @Test
+    void revokedTokenIsRefusedOnACacheHit() throws Exception {
+        TokenRevocationStore revocationStore = new TokenRevocationStore(1000, 0.01, 1000,
+                new LoopbackCacheInvalidationBus(), clock::get);
+        JwtUtil jwtUtil = mock(JwtUtil.class);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtUtil, cache, revocationStore);
+        cache.put(TOKEN, token("jti-1", NOW + 15 * MINUTE));
+
+        filter.doFilter(bearerRequest(), new MockHttpServletResponse(), new MockFilterChain());
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+
+        SecurityContextHolder.clearContext();
+        revocationStore.revoke("jti-1", NOW + 15 * MINUTE);
+        filter.doFilter(bearerRequest(), new MockHttpServletResponse(), new MockFilterChain());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+
+        // Both requests were served from the cache, so the refusal came from the revocation check
+        verify(jwtUtil, never()).parseClaims(anyString());
+        assertEquals(2, cache.getHitCount());
+    }
+
+    private static VerifiedToken token(String jti, long expiresAtMillis) {
+        return new VerifiedToken(jti, "alice", List.of(new SimpleGrantedAuthority("ROLE_USER")), expiresAtMillis);
+    }
+
+    private static MockHttpServletRequest bearerRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/news");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + TOKEN);
+        return request;
+    }
+}
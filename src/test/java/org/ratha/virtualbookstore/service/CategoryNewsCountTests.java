@@ -0,0 +1,86 @@
+package org.ratha.virtualbookstore.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ratha.virtualbookstore.DTO.request.NewsRequestDTO;
+import org.ratha.virtualbookstore.DTO.response.NewsResponseDTO;
+import org.ratha.virtualbookstore.model.Category;
+import org.ratha.virtualbookstore.repository.CategoryNewsCountRepository;
+import org.ratha.virtualbookstore.repository.CategoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The counter table must follow every NewsService write path
+@SpringBootTest
+class CategoryNewsCountTests {
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryNewsCountRepository categoryNewsCountRepository;
+
+    private final List<Long> createdNews = new ArrayList<>();
+    private Category first;
+    private Category second;
+    private String run;
+
+    @BeforeEach
+    void setUp() {
+        run = UUID.randomUUID().toString();
+        first = categoryRepository.save(category("count-a-" + run));
+        second = categoryRepository.save(category("count-b-" + run));
+    }
+
+    @AfterEach
+    void tearDown() {
+        createdNews.forEach(newsService::deleteNews);
+        categoryRepository.deleteAll(List.of(first, second));
+    }
+
+    @Test
+    void countsFollowCreateUpdateAndDelete() {
+        List<NewsResponseDTO> created = newsService.createMultipleNews(List.of(
+                request("one", first.getId()), request("two", first.getId()), request("three", null)));
+        created.forEach(news -> createdNews.add(news.getId()));
+        assertEquals(2, count(first));
+        assertEquals(0, count(second));
+
+        newsService.updateNews(created.get(0).getId(), request("one", second.getId()));
+        assertEquals(1, count(first));
+        assertEquals(1, count(second));
+
+        newsService.deleteNews(created.get(1).getId());
+        createdNews.remove(created.get(1).getId());
+        assertEquals(0, count(first));
+        assertEquals(1, count(second));
+    }
+
+    private long count(Category category) {
+        return categoryNewsCountRepository.findById(category.getId()).map(c -> c.getNewsCount()).orElse(0L);
+    }
+
+    private NewsRequestDTO request(String title, Long categoryId) {
+        NewsRequestDTO request = new NewsRequestDTO();
+        request.setTitle("Count " + run + " " + title);
+        request.setContent("Content of " + title);
+        request.setCategoryId(categoryId);
+        return request;
+    }
+
+    private static Category category(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return category;
+    }
+}
@@ -0,0 +1,110 @@
+package org.ratha.virtualbookstore.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ratha.virtualbookstore.model.Category;
+import org.ratha.virtualbookstore.model.News;
+import org.ratha.virtualbookstore.repository.CategoryRepository;
+import org.ratha.virtualbookstore.repository.NewsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Guards against N+1 selects creeping back into the news read paths
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class NewsQueryCountTests {
+
+    private static final int CATEGORIES = 5;
+    private static final int ARTICLES = 30;
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private NewsExportService newsExportService;
+
+    @Autowired
+    private NewsRepository newsRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Category> categories = new ArrayList<>();
+    private final List<News> articles = new ArrayList<>();
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        String run = UUID.randomUUID().toString();
+        for (int i = 0; i < CATEGORIES; i++) {
+            Category category = new Category();
+            category.setName("query-count-" + run + "-" + i);
+            categories.add(categoryRepository.save(category));
+        }
+        for (int i = 0; i < ARTICLES; i++) {
+            News news = new News();
+            news.setTitle("Query count " + run + " #" + i);
+            news.setContent("Content " + i);
+            news.setPublishedDate(LocalDateTime.now().plusYears(100).plusSeconds(i));
+            news.setCategory(categories.get(i % CATEGORIES));
+            articles.add(newsRepository.save(news));
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        newsRepository.deleteAll(articles);
+        categoryRepository.deleteAll(categories);
+    }
+
+    @Test
+    void keysetListingIsOneStatement() {
+        newsService.getNewsAfter(null, 20);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void offsetListingIsOneStatement() {
+        newsService.getNewsPage(0, 20);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void singleArticleIsOneStatement() {
+        newsService.getNewsById(articles.get(0).getId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void cachedArticleNeedsNoStatement() {
+        Long id = articles.get(1).getId();
+        newsService.getNewsById(id);
+        statistics.clear();
+
+        newsService.getNewsById(id);
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void exportIsOneStatement() throws Exception {
+        newsExportService.exportNdjson(OutputStream.nullOutputStream());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
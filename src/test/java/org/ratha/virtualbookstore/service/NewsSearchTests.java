@@ -0,0 +1,99 @@
+package org.ratha.virtualbookstore.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ratha.virtualbookstore.DTO.response.NewsSummaryDTO;
+import org.ratha.virtualbookstore.model.Category;
+import org.ratha.virtualbookstore.model.News;
+import org.ratha.virtualbookstore.repository.CategoryRepository;
+import org.ratha.virtualbookstore.repository.NewsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class NewsSearchTests {
+
+    // Consonants only, so the English stemmer leaves the generated words (and their prefixes) alone
+    private static final String LETTERS = "bcdfghjklmnpqrtvwxz";
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private NewsRepository newsRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private final List<News> articles = new ArrayList<>();
+    private Category category;
+    private String word;
+
+    @BeforeEach
+    void setUp() {
+        word = randomWord();
+        category = new Category();
+        category.setName("search-" + word);
+        category = categoryRepository.save(category);
+
+        articles.add(save("Mentions it in passing " + randomWord(), "The body talks about " + word + " once.", null));
+        articles.add(save("All about " + word, "Nothing else here.", category));
+    }
+
+    @AfterEach
+    void tearDown() {
+        newsRepository.deleteAll(articles);
+        categoryRepository.delete(category);
+    }
+
+    @Test
+    void titleMatchesRankAboveContentMatches() {
+        List<NewsSummaryDTO> results = newsService.searchNews(word, null, 0, 10);
+        assertEquals(2, results.size());
+        assertEquals(articles.get(1).getId(), results.get(0).getId());
+    }
+
+    @Test
+    void termsMatchAsPrefixes() {
+        List<NewsSummaryDTO> results = newsService.searchNews(word.substring(0, 6), null, 0, 10);
+        assertEquals(2, results.size());
+    }
+
+    @Test
+    void categoryFilterNarrowsResults() {
+        List<NewsSummaryDTO> results = newsService.searchNews(word, category.getId(), 0, 10);
+        assertEquals(1, results.size());
+        assertEquals(articles.get(1).getId(), results.get(0).getId());
+    }
+
+    @Test
+    void queryWithoutTermsIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> newsService.searchNews("&|!:*", null, 0, 10));
+    }
+
+    private News save(String title, String content, Category category) {
+        News news = new News();
+        news.setTitle(title);
+        news.setContent(content);
+        news.setPublishedDate(LocalDateTime.now());
+        news.setCategory(category);
+        return newsRepository.save(news);
+    }
+
+    private static String randomWord() {
+        StringBuilder word = new StringBuilder("kq");
+        for (int i = 0; i < 10; i++) {
+            word.append(LETTERS.charAt(ThreadLocalRandom.current().nextInt(LETTERS.length())));
+        }
+        return word.toString();
+    }
+}
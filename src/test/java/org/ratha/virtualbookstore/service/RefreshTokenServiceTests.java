@@ -0,0 +1,81 @@
+package org.ratha.virtualbookstore.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ratha.virtualbookstore.model.User;
+import org.ratha.virtualbookstore.repository.RefreshTokenRepository;
+import org.ratha.virtualbookstore.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Not @Transactional: each call must commit on its own, as it does behind the auth endpoints
+@SpringBootTest
+class RefreshTokenServiceTests {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("refresh-" + UUID.randomUUID());
+        user.setPassword("unused");
+        user.setRole("ROLE_USER");
+        user = userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshTokenRepository.deleteAll(refreshTokenRepository.findAll().stream()
+                .filter(token -> token.getUsername().equals(user.getUsername()))
+                .toList());
+        userRepository.delete(user);
+    }
+
+    @Test
+    void rotationIssuesANewTokenInTheSameFamily() {
+        RefreshTokenService.IssuedRefreshToken first = refreshTokenService.issue(user.getUsername(), user.getRole());
+        RefreshTokenService.IssuedRefreshToken second = refreshTokenService.rotate(first.token());
+
+        assertNotEquals(first.token(), second.token());
+        assertEquals(user.getUsername(), second.username());
+        assertEquals(2, familyRows());
+    }
+
+    @Test
+    void replayingARotatedTokenRevokesTheWholeFamily() {
+        RefreshTokenService.IssuedRefreshToken first = refreshTokenService.issue(user.getUsername(), user.getRole());
+        RefreshTokenService.IssuedRefreshToken second = refreshTokenService.rotate(first.token());
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(first.token()));
+
+        // The deletion ran in the transaction that threw, so it must have committed rather than rolled back
+        assertEquals(0, familyRows());
+        BadCredentialsException rejected = assertThrows(BadCredentialsException.class,
+                () -> refreshTokenService.rotate(second.token()));
+        assertTrue(rejected.getMessage().contains("Invalid"));
+    }
+
+    private long familyRows() {
+        return refreshTokenRepository.findAll().stream()
+                .filter(token -> token.getUsername().equals(user.getUsername()))
+                .count();
+    }
+}